@@ -4,12 +4,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Main Spring Boot application class for Discord LeetCode Bot
  */
 @SpringBootApplication
+@EnableScheduling
 @Slf4j
 public class DiscordLeetCodeBotApplication {
 
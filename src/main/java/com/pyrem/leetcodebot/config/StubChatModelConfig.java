@@ -0,0 +1,165 @@
+package com.pyrem.leetcodebot.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pyrem.leetcodebot.model.CompanyProblemRequest;
+import com.pyrem.leetcodebot.nlp.RuleBasedRequestParser;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stub LLM for benchmarking the parse pipeline without Ollama (activate with the "stub-llm" profile)
+ * Answers parse prompts with the rule-based parser after a simulated model latency,
+ * either in one response or as a token stream (with its own per-chunk delay) followed by trailing chatter
+ */
+@Configuration
+@Profile("stub-llm")
+public class StubChatModelConfig {
+
+    @Bean
+    @Primary
+    public ChatModel stubChatModel(RuleBasedRequestParser ruleBasedRequestParser, ObjectMapper objectMapper,
+                                   @Value("${nlp.stub.latency.ms:300}") long baseLatencyMillis,
+                                   @Value("${nlp.stub.latency.per.message.ms:20}") long perMessageLatencyMillis,
+                                   @Value("${nlp.stub.latency.per.chunk.ms:10}") long perChunkLatencyMillis) {
+        return new StubChatModel(ruleBasedRequestParser, objectMapper, baseLatencyMillis, perMessageLatencyMillis,
+            perChunkLatencyMillis);
+    }
+
+    /**
+     * ChatModel that recognizes single and batched parse prompts and responds with JSON
+     */
+    static class StubChatModel implements ChatModel {
+
+        /**
+         * Chatter small models tend to append after the JSON, which streaming callers should never wait for
+         */
+        private static final String TRAILING_TEXT =
+            "\n\nI extracted the companies and time range from the message above. Let me know if you need anything else!";
+
+        private static final int STREAM_CHUNK_SIZE = 8;
+
+        private static final Pattern SINGLE_MESSAGE = Pattern.compile("User message: \"(.*)\"");
+        private static final Pattern BATCH_MESSAGE = Pattern.compile("(?m)^(\\d+)\\. (\".*\")$");
+
+        private final RuleBasedRequestParser ruleBasedRequestParser;
+        private final ObjectMapper objectMapper;
+        private final long baseLatencyMillis;
+        private final long perMessageLatencyMillis;
+        private final long perChunkLatencyMillis;
+
+        /**
+         * JSON answer to a prompt and the number of messages it covers
+         */
+        private record Answer(String json, int messages) {
+        }
+
+        StubChatModel(RuleBasedRequestParser ruleBasedRequestParser, ObjectMapper objectMapper,
+                      long baseLatencyMillis, long perMessageLatencyMillis, long perChunkLatencyMillis) {
+            this.ruleBasedRequestParser = ruleBasedRequestParser;
+            this.objectMapper = objectMapper;
+            this.baseLatencyMillis = baseLatencyMillis;
+            this.perMessageLatencyMillis = perMessageLatencyMillis;
+            this.perChunkLatencyMillis = perChunkLatencyMillis;
+        }
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            String response = respond(prompt.getContents());
+            return new ChatResponse(List.of(new Generation(new AssistantMessage(response))));
+        }
+
+        /**
+         * Stream the response in small chunks followed by trailing chatter
+         * The first chunk arrives after the same latency as a blocking call, every further chunk after
+         * nlp.stub.latency.per.chunk.ms; delays are scheduled, no thread sleeps
+         */
+        @Override
+        public Flux<ChatResponse> stream(Prompt prompt) {
+            return Flux.defer(() -> {
+                Answer answer = answer(prompt.getContents());
+                String response = answer.json() + TRAILING_TEXT;
+
+                List<String> chunks = new ArrayList<>();
+                for (int i = 0; i < response.length(); i += STREAM_CHUNK_SIZE) {
+                    chunks.add(response.substring(i, Math.min(response.length(), i + STREAM_CHUNK_SIZE)));
+                }
+                return Flux.fromIterable(chunks)
+                    .delayElements(Duration.ofMillis(perChunkLatencyMillis))
+                    .delaySubscription(Duration.ofMillis(latencyMillis(answer.messages())));
+            })
+                .map(chunk -> new ChatResponse(List.of(new Generation(new AssistantMessage(chunk)))));
+        }
+
+        String respond(String prompt) {
+            Answer answer = answer(prompt);
+            simulateLatency(answer.messages());
+            return answer.json();
+        }
+
+        private Answer answer(String prompt) {
+            Matcher single = SINGLE_MESSAGE.matcher(prompt);
+            if (single.find()) {
+                return new Answer(toJson(single.group(1), null).toString(), 1);
+            }
+
+            ArrayNode results = objectMapper.createArrayNode();
+            Matcher batch = BATCH_MESSAGE.matcher(prompt);
+            while (batch.find()) {
+                try {
+                    // Batched messages are JSON string literals
+                    String message = objectMapper.readValue(batch.group(2), String.class);
+                    results.add(toJson(message, Integer.parseInt(batch.group(1))));
+                } catch (JsonProcessingException e) {
+                    // A real model would skip what it cannot read, leaving that caller to fall back
+                }
+            }
+
+            return new Answer(results.toString(), results.size());
+        }
+
+        private ObjectNode toJson(String message, Integer index) {
+            CompanyProblemRequest request = ruleBasedRequestParser.parse(message).request();
+            ObjectNode node = objectMapper.createObjectNode();
+
+            if (index != null) {
+                node.put("index", index);
+            }
+            ArrayNode companies = node.putArray("companies");
+            request.getCompanies().forEach(companies::add);
+            node.put("timeRange", request.getTimeRange() != null ? request.getTimeRange().getKey() : null);
+            node.put("explicitTimeRange", request.isExplicitTimeRange());
+
+            return node;
+        }
+
+        private long latencyMillis(int messages) {
+            return baseLatencyMillis + perMessageLatencyMillis * messages;
+        }
+
+        private void simulateLatency(int messages) {
+            try {
+                Thread.sleep(latencyMillis(messages));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,27 +1,53 @@
 package com.pyrem.leetcodebot.discord;
 
 import com.pyrem.leetcodebot.model.CompanyProblemRequest;
-import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemSet;
+import com.pyrem.leetcodebot.model.TimeRange;
+import com.pyrem.leetcodebot.nlp.CompanyDictionary;
 import com.pyrem.leetcodebot.nlp.RequestParserService;
 import com.pyrem.leetcodebot.service.LeetCodeService;
+import com.pyrem.leetcodebot.service.ProblemSetWarmer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.entities.Message;
-import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.events.interaction.command.CommandAutoCompleteInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.requests.RestConfig;
+import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.sharding.ThreadPoolProvider;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import net.dv8tion.jda.api.utils.messages.MessageEditData;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**
  * Discord bot service using JDA
@@ -33,6 +59,18 @@ public class DiscordBotService extends ListenerAdapter {
 
     private final RequestParserService requestParserService;
     private final LeetCodeService leetCodeService;
+    private final MessageProcessingPipeline messageProcessingPipeline;
+    private final ProblemSetWarmer problemSetWarmer;
+    private final CompanyDictionary companyDictionary;
+    private final ProblemEmbedRenderer problemEmbedRenderer;
+    private final OutboundMessageScheduler outboundMessageScheduler;
+    private final PaginationSessionCache paginationSessionCache;
+    private final MeterRegistry meterRegistry;
+
+    private static final String PROBLEMS_COMMAND = "problems";
+    private static final String COMPANY_OPTION = "company";
+    private static final String RANGE_OPTION = "range";
+    private static final String BUSY_MESSAGE = "⏳ I'm a bit busy right now. Please try again in a moment.";
 
     @Value("${discord.bot.token}")
     private String botToken;
@@ -40,40 +78,170 @@ public class DiscordBotService extends ListenerAdapter {
     @Value("${discord.bot.command.prefix:!}")
     private String commandPrefix;
 
-    private JDA jda;
+    @Value("${discord.bot.request.timeout.seconds:30}")
+    private long requestTimeoutSeconds;
 
-    public DiscordBotService(RequestParserService requestParserService, LeetCodeService leetCodeService) {
+    /**
+     * Scan channel messages for requests; when off, only the slash command is served and the message
+     * intents are not requested at all
+     */
+    @Value("${discord.bot.message.listener.enabled:true}")
+    private boolean messageListenerEnabled;
+
+    /**
+     * Guilds served by the slash command only (their messages are ignored without being scanned)
+     */
+    @Value("${discord.bot.message.listener.disabled.guilds:}")
+    private Set<String> disabledListenerGuilds;
+
+    /**
+     * Send one page with prev/next buttons instead of the whole list
+     */
+    @Value("${discord.response.paginated:true}")
+    private boolean paginated;
+
+    /**
+     * Number of gateway shards; -1 uses the count recommended by Discord
+     */
+    @Value("${discord.bot.shards.total:-1}")
+    private int shardsTotal;
+
+    /**
+     * Alternative REST API base URL (e.g. a local fake Discord endpoint); empty uses Discord's API
+     */
+    @Value("${discord.bot.rest.base.url:}")
+    private String restBaseUrl;
+
+    private final ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile ShardManager shardManager;
+
+    public DiscordBotService(RequestParserService requestParserService, LeetCodeService leetCodeService,
+                             MessageProcessingPipeline messageProcessingPipeline, ProblemSetWarmer problemSetWarmer,
+                             CompanyDictionary companyDictionary, ProblemEmbedRenderer problemEmbedRenderer,
+                             OutboundMessageScheduler outboundMessageScheduler,
+                             PaginationSessionCache paginationSessionCache, MeterRegistry meterRegistry) {
         this.requestParserService = requestParserService;
         this.leetCodeService = leetCodeService;
+        this.messageProcessingPipeline = messageProcessingPipeline;
+        this.problemSetWarmer = problemSetWarmer;
+        this.companyDictionary = companyDictionary;
+        this.problemEmbedRenderer = problemEmbedRenderer;
+        this.outboundMessageScheduler = outboundMessageScheduler;
+        this.paginationSessionCache = paginationSessionCache;
+        this.meterRegistry = meterRegistry;
     }
 
     @PostConstruct
     public void initialize() {
+        // Fill the problem caches before we start taking Discord traffic
+        problemSetWarmer.warmUp();
+
         try {
             log.info("Initializing Discord bot...");
 
-            jda = JDABuilder.createDefault(botToken)
-                .enableIntents(
+            DefaultShardManagerBuilder builder = DefaultShardManagerBuilder.createDefault(botToken)
+                .setShardsTotal(shardsTotal)
+                .setEventPoolProvider(new ShardEventPoolProvider())
+                .addEventListeners(this);
+
+            if (messageListenerEnabled) {
+                builder.enableIntents(
                     GatewayIntent.GUILD_MESSAGES,
                     GatewayIntent.MESSAGE_CONTENT,
                     GatewayIntent.DIRECT_MESSAGES
-                )
-                .addEventListeners(this)
-                .build()
-                .awaitReady();
+                );
+            } else {
+                // createDefault subscribes to message events, which are never handled without the listener
+                builder.disableIntents(GatewayIntent.GUILD_MESSAGES, GatewayIntent.DIRECT_MESSAGES);
+                log.info("Message listener disabled, serving the /{} command only", PROBLEMS_COMMAND);
+            }
+
+            if (!restBaseUrl.isBlank()) {
+                log.info("Using REST API base URL: {}", restBaseUrl);
+                builder.setRestConfig(new RestConfig().setBaseUrl(restBaseUrl));
+            }
 
-            log.info("Discord bot initialized successfully! Logged in as: {}", jda.getSelfUser().getName());
+            // Shards log in in the background; commands are registered once shard 0 is ready
+            shardManager = builder.build();
+            registerShardMetrics(shardManager.getShardsTotal());
+
+            log.info("Discord bot started with {} shards, connecting in the background", shardManager.getShardsTotal());
         } catch (Exception e) {
             log.error("Failed to initialize Discord bot: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Health metrics per shard, looked up on every scrape so restarted shards are picked up
+     */
+    private void registerShardMetrics(int shards) {
+        for (int shardId = 0; shardId < shards; shardId++) {
+            int id = shardId;
+            Gauge.builder("discord.shard.connected", () -> shardStatus(id) == JDA.Status.CONNECTED ? 1 : 0)
+                .description("1 while the shard's gateway connection is up")
+                .tag("shard", String.valueOf(id))
+                .register(meterRegistry);
+            Gauge.builder("discord.shard.gateway.ping", () -> withShard(id, JDA::getGatewayPing))
+                .description("Last gateway heartbeat round trip in milliseconds (-1 before the first heartbeat)")
+                .baseUnit("milliseconds")
+                .tag("shard", String.valueOf(id))
+                .register(meterRegistry);
+            Gauge.builder("discord.shard.responses", () -> withShard(id, JDA::getResponseTotal))
+                .description("Gateway events received in the shard's current session")
+                .tag("shard", String.valueOf(id))
+                .register(meterRegistry);
+        }
+    }
+
+    private JDA.Status shardStatus(int shardId) {
+        JDA shard = shardManager != null ? shardManager.getShardById(shardId) : null;
+        return shard != null ? shard.getStatus() : JDA.Status.SHUTDOWN;
+    }
+
+    private long withShard(int shardId, ToLongFunction<JDA> metric) {
+        JDA shard = shardManager != null ? shardManager.getShardById(shardId) : null;
+        return shard != null ? metric.applyAsLong(shard) : -1;
+    }
+
+    @Override
+    public void onReady(ReadyEvent event) {
+        JDA.ShardInfo shardInfo = event.getJDA().getShardInfo();
+        log.info("Shard {} ready as {} ({} guilds)", shardInfo.getShardString(),
+            event.getJDA().getSelfUser().getName(), event.getGuildTotalCount());
+
+        // Global commands only need to be registered through one shard
+        if (shardInfo.getShardId() == 0) {
+            registerCommands(event.getJDA());
+        }
+    }
+
+    /**
+     * Register the /problems command globally (range choices mirror TimeRange)
+     */
+    private void registerCommands(JDA jda) {
+        OptionData range = new OptionData(OptionType.STRING, RANGE_OPTION,
+            "Time range (default: most recent range with enough problems)", false);
+        for (TimeRange timeRange : TimeRange.values()) {
+            range.addChoice(timeRange.getDisplayName(), timeRange.getKey());
+        }
+
+        jda.updateCommands()
+            .addCommands(Commands.slash(PROBLEMS_COMMAND, "LeetCode problems asked by a company")
+                .addOptions(
+                    new OptionData(OptionType.STRING, COMPANY_OPTION, "Company name", true, true),
+                    range))
+            .queue(commands -> log.info("Registered {} slash commands", commands.size()),
+                error -> log.error("Failed to register slash commands: {}", error.getMessage()));
+    }
+
     @PreDestroy
     public void shutdown() {
-        if (jda != null) {
+        if (shardManager != null) {
             log.info("Shutting down Discord bot...");
-            jda.shutdown();
+            shardManager.shutdown();
         }
+        lookupExecutor.shutdownNow();
     }
 
     @Override
@@ -83,6 +251,11 @@ public class DiscordBotService extends ListenerAdapter {
             return;
         }
 
+        // Guilds that switched to the slash command only
+        if (event.isFromGuild() && disabledListenerGuilds.contains(event.getGuild().getId())) {
+            return;
+        }
+
         Message message = event.getMessage();
         String content = message.getContentRaw().trim();
 
@@ -99,6 +272,85 @@ public class DiscordBotService extends ListenerAdapter {
         log.info("Received potential request: {} from user: {}",
             content, event.getAuthor().getName());
 
+        // Hand off to the request pipeline so the JDA event thread is never blocked
+        String guildKey = event.isFromGuild() ? event.getGuild().getId() : "dm-" + event.getAuthor().getId();
+        boolean accepted = messageProcessingPipeline.submit(guildKey, event.getChannel().getId(),
+            () -> processRequest(event, content));
+
+        if (!accepted) {
+            log.warn("Request pipeline full, rejecting request from guild: {}", guildKey);
+            channelTarget(event.getChannel()).send(BUSY_MESSAGE, OutboundMessageScheduler.Priority.INTERACTIVE);
+        }
+    }
+
+    /**
+     * /problems: structured options go straight to the lookup, without message scanning or NLP parsing
+     */
+    @Override
+    public void onSlashCommandInteraction(SlashCommandInteractionEvent event) {
+        if (!event.getName().equals(PROBLEMS_COMMAND)) {
+            return;
+        }
+
+        String company = resolveCompany(event.getOption(COMPANY_OPTION, "", OptionMapping::getAsString));
+        String range = event.getOption(RANGE_OPTION, OptionMapping::getAsString);
+        if (company.isEmpty()) {
+            event.reply("❌ Please name a company.").setEphemeral(true).queue();
+            return;
+        }
+
+        // Acknowledge within Discord's 3 second window, the lookup may take longer
+        event.deferReply().queue();
+        ResponseTarget target = hookTarget(event.getHook());
+
+        String guildKey = event.isFromGuild() ? event.getGuild().getId() : "dm-" + event.getUser().getId();
+        boolean accepted = messageProcessingPipeline.submit(guildKey, event.getChannel().getId(),
+            () -> processCommand(target, company, range != null ? TimeRange.fromString(range) : null));
+
+        if (!accepted) {
+            log.warn("Request pipeline full, rejecting command from guild: {}", guildKey);
+            target.send(BUSY_MESSAGE, OutboundMessageScheduler.Priority.INTERACTIVE);
+        }
+    }
+
+    /**
+     * Company name suggestions for the /problems company option
+     */
+    @Override
+    public void onCommandAutoCompleteInteraction(CommandAutoCompleteInteractionEvent event) {
+        if (!event.getName().equals(PROBLEMS_COMMAND) || !event.getFocusedOption().getName().equals(COMPANY_OPTION)) {
+            return;
+        }
+
+        List<Command.Choice> choices = companyDictionary.suggestCompanies(event.getFocusedOption().getValue(),
+                OptionData.MAX_CHOICES).stream()
+            .map(name -> new Command.Choice(name, name))
+            .toList();
+        event.replyChoices(choices).queue();
+    }
+
+    /**
+     * Canonical name for a known company or alias, otherwise the name as given
+     */
+    private String resolveCompany(String company) {
+        String canonical = companyDictionary.lookup(CompanyDictionary.normalizePhrase(company));
+        return canonical != null ? canonical : company.trim();
+    }
+
+    /**
+     * Look up a slash command's company and respond on its interaction (runs on a pipeline virtual thread)
+     * Without a range the most recent range with enough problems is selected, as for messages.
+     */
+    private void processCommand(ResponseTarget target, String company, TimeRange timeRange) {
+        Future<ProblemSet> lookup = lookupExecutor.submit(() ->
+            leetCodeService.getProblemSet(company, timeRange, timeRange != null));
+        sendLookupResult(target, company, lookup, System.nanoTime() + TimeUnit.SECONDS.toNanos(requestTimeoutSeconds));
+    }
+
+    /**
+     * Parse a request and respond with problem sets (runs on a pipeline virtual thread)
+     */
+    private void processRequest(MessageReceivedEvent event, String content) {
         try {
             // Parse the request using NLP
             CompanyProblemRequest request = requestParserService.parseRequest(content);
@@ -112,22 +364,56 @@ public class DiscordBotService extends ListenerAdapter {
             // Send typing indicator
             event.getChannel().sendTyping().queue();
 
-            // Process each company
-            for (String company : request.getCompanies()) {
-                List<LeetCodeProblem> problems = leetCodeService.getProblems(
+            // Resolve all companies concurrently, then respond in the order they were requested
+            List<String> companies = request.getCompanies();
+            List<Future<ProblemSet>> lookups = new ArrayList<>(companies.size());
+            for (String company : companies) {
+                lookups.add(lookupExecutor.submit(() -> leetCodeService.getProblemSet(
                     company,
                     request.getTimeRange(),
                     request.isExplicitTimeRange()
-                );
+                )));
+            }
 
-                // Send response
-                sendProblemListResponse(event.getChannel(), company, problems);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(requestTimeoutSeconds);
+            for (int i = 0; i < companies.size(); i++) {
+                sendLookupResult(channelTarget(event.getChannel()), companies.get(i), lookups.get(i), deadline);
             }
 
         } catch (Exception e) {
             log.error("Error processing message: {}", e.getMessage(), e);
-            event.getChannel().sendMessage("❌ Sorry, I encountered an error processing your request. Please try again.")
-                .queue();
+            channelTarget(event.getChannel()).send(
+                "❌ Sorry, I encountered an error processing your request. Please try again.",
+                OutboundMessageScheduler.Priority.INTERACTIVE);
+        }
+    }
+
+    /**
+     * Wait for a single company lookup (bounded by the request deadline) and send its response
+     * A failed or timed-out company gets its own error message without affecting the others
+     */
+    private void sendLookupResult(ResponseTarget target, String company,
+                                  Future<ProblemSet> lookup, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            ProblemSet problemSet = lookup.get(remaining, TimeUnit.NANOSECONDS);
+
+            // Send response
+            sendProblemListResponse(target, company, problemSet);
+        } catch (TimeoutException e) {
+            lookup.cancel(true);
+            log.warn("Lookup for company {} exceeded the {}s request deadline", company, requestTimeoutSeconds);
+            target.send(
+                String.format("⌛ Looking up **%s** took too long. Please try again later.", company),
+                OutboundMessageScheduler.Priority.INTERACTIVE);
+        } catch (ExecutionException e) {
+            log.error("Error fetching problems for company {}: {}", company, e.getCause().getMessage(), e.getCause());
+            target.send(
+                String.format("❌ Sorry, I couldn't fetch problems for **%s**.", company),
+                OutboundMessageScheduler.Priority.INTERACTIVE);
+        } catch (InterruptedException e) {
+            lookup.cancel(true);
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -135,126 +421,121 @@ public class DiscordBotService extends ListenerAdapter {
      * Check if message is a potential LeetCode request
      */
     private boolean isPotentialRequest(String content) {
-        String lower = content.toLowerCase();
-
         // Check for question mark (simple request like "Microsoft?")
-        if (content.contains("?")) {
+        if (content.indexOf('?') >= 0) {
             return true;
         }
 
-        // Check for keywords
-        return lower.contains("leetcode") ||
-               lower.contains("problem") ||
-               lower.contains("question") ||
-               lower.contains("microsoft") ||
-               lower.contains("google") ||
-               lower.contains("amazon") ||
-               lower.contains("meta") ||
-               lower.contains("facebook") ||
-               lower.contains("apple");
+        // Single pass for request keywords and known company names or aliases
+        return companyDictionary.containsAny(content);
     }
 
     /**
-     * Send problem list as rich embeds (Discord has a limit of 10 embeds per message)
+     * Send problem list as rich embeds, packed into as few messages as Discord allows and paced by the scheduler
      */
-    private void sendProblemListResponse(MessageChannel channel, String company, List<LeetCodeProblem> problems) {
-        if (problems.isEmpty()) {
-            channel.sendMessage(String.format("No problems found for **%s** 😕", company)).queue();
+    private void sendProblemListResponse(ResponseTarget target, String company, ProblemSet problemSet) {
+        if (problemSet.problems().isEmpty()) {
+            target.send(String.format("No problems found for **%s** 😕", company),
+                OutboundMessageScheduler.Priority.INTERACTIVE);
             return;
         }
 
-        // Create header embed
-        EmbedBuilder headerEmbed = new EmbedBuilder()
-            .setTitle(String.format("📋 %s LeetCode Problems", company))
-            .setDescription(String.format("Found **%d** problems", problems.size()))
-            .setColor(Color.decode("#FFA116")); // LeetCode orange color
+        if (paginated) {
+            sendFirstPage(target, company, problemSet);
+            return;
+        }
 
-        channel.sendMessageEmbeds(headerEmbed.build()).queue();
+        // Rendered once per set version, a repeated request only sends
+        ProblemEmbedRenderer.RenderedProblemList rendered = problemEmbedRenderer.render(company, problemSet);
 
-        // Send problems in batches (Discord allows max 10 embeds per message)
-        List<MessageEmbed> embeds = new ArrayList<>();
+        for (MessageCreateData message : rendered.messages()) {
+            target.send(message, OutboundMessageScheduler.Priority.BULK);
+        }
+    }
 
-        for (LeetCodeProblem problem : problems) {
-            embeds.add(createProblemEmbed(problem));
+    /**
+     * Send only the first page; later pages are rendered from the pagination session when a button is clicked
+     */
+    private void sendFirstPage(ResponseTarget target, String company, ProblemSet problemSet) {
+        MessageCreateData firstPage = problemEmbedRenderer.renderPage(company, problemSet, 0);
 
-            // Send batch of 10 embeds
-            if (embeds.size() == 10) {
-                channel.sendMessageEmbeds(embeds).queue();
-                embeds.clear();
-            }
+        if (problemEmbedRenderer.pageCount(problemSet) == 1) {
+            target.send(firstPage, OutboundMessageScheduler.Priority.BULK);
+            return;
         }
 
-        // Send remaining embeds
-        if (!embeds.isEmpty()) {
-            channel.sendMessageEmbeds(embeds).queue();
-        }
+        target.send(firstPage, OutboundMessageScheduler.Priority.BULK,
+            message -> paginationSessionCache.put(message.getIdLong(), company, problemSet));
     }
 
-    /**
-     * Create a rich embed for a single problem (similar to the screenshot)
-     */
-    private MessageEmbed createProblemEmbed(LeetCodeProblem problem) {
-        EmbedBuilder embed = new EmbedBuilder();
+    @Override
+    public void onButtonInteraction(ButtonInteractionEvent event) {
+        String componentId = event.getComponentId();
+        if (!componentId.startsWith(ProblemEmbedRenderer.PAGE_BUTTON_PREFIX)) {
+            return;
+        }
 
-        // Title with problem number and name
-        String title = String.format("%d. %s", problem.getProblemNumber(), problem.getProblemName());
-        embed.setTitle(title, problem.getUrl());
+        PaginationSessionCache.Session session = paginationSessionCache.get(event.getMessageIdLong()).orElse(null);
+        if (session == null) {
+            event.reply("⌛ This list has expired. Ask again to get a fresh one.").setEphemeral(true).queue();
+            return;
+        }
 
-        // Set color based on difficulty
-        Color color = switch (problem.getDifficulty()) {
-            case EASY -> Color.decode("#00B8A3"); // Green
-            case MEDIUM -> Color.decode("#FFC01E"); // Yellow/Orange
-            case HARD -> Color.decode("#EF4743"); // Red
-        };
-        embed.setColor(color);
+        int page;
+        try {
+            page = Integer.parseInt(componentId.substring(ProblemEmbedRenderer.PAGE_BUTTON_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid page button id: {}", componentId);
+            event.deferEdit().queue();
+            return;
+        }
 
-        // Add fields for problem details
-        StringBuilder details = new StringBuilder();
+        // Rendered from the session, no problem set lookup
+        MessageCreateData rendered = problemEmbedRenderer.renderPage(session.company(), session.problemSet(), page);
+        event.editMessage(MessageEditData.fromCreateData(rendered)).queue();
+    }
 
-        // Acceptance rate
-        String acceptancePercent = String.format("%.1f%%", problem.getAcceptanceRate() * 100);
-        details.append("**Acceptance:** ").append(acceptancePercent).append("\n");
+    /**
+     * Destination of a response: a channel paced by the outbound scheduler, or a slash command's interaction
+     */
+    @FunctionalInterface
+    private interface ResponseTarget {
 
-        // Difficulty
-        details.append("**Difficulty:** ").append(problem.getDifficulty().getDisplayName()).append("\n");
+        void send(MessageCreateData message, OutboundMessageScheduler.Priority priority, Consumer<Message> onSent);
 
-        // Frequency bar (visual representation using Unicode blocks)
-        String frequencyBar = createFrequencyBar(problem.getFrequency());
-        details.append("**Frequency:** ").append(frequencyBar);
+        default void send(MessageCreateData message, OutboundMessageScheduler.Priority priority) {
+            send(message, priority, sent -> { });
+        }
 
-        embed.setDescription(details.toString());
+        default void send(String content, OutboundMessageScheduler.Priority priority) {
+            send(MessageCreateData.fromContent(content), priority);
+        }
+    }
 
-        return embed.build();
+    private ResponseTarget channelTarget(MessageChannel channel) {
+        return (message, priority, onSent) -> outboundMessageScheduler.send(channel, message, priority, onSent);
     }
 
     /**
-     * Create a visual frequency bar using Unicode characters
-     * Similar to the bars shown in the screenshot
+     * Follow-ups to a deferred reply go through the interaction webhook, outside the channel's rate limit
      */
-    private String createFrequencyBar(Double frequency) {
-        if (frequency == null) {
-            frequency = 0.0;
-        }
-
-        // Normalize frequency to 0-10 scale
-        int barLength = (int) Math.round(frequency * 10);
-        barLength = Math.max(0, Math.min(10, barLength)); // Clamp to 0-10
+    private static ResponseTarget hookTarget(InteractionHook hook) {
+        return (message, priority, onSent) -> hook.sendMessage(message).queue(onSent);
+    }
 
-        StringBuilder bar = new StringBuilder();
+    /**
+     * Each shard dispatches its events on its own thread, in order, so a slow shard never delays another
+     */
+    private static final class ShardEventPoolProvider implements ThreadPoolProvider<ExecutorService> {
 
-        // Use block characters to create visual bar
-        for (int i = 0; i < 10; i++) {
-            if (i < barLength) {
-                bar.append("█");
-            } else {
-                bar.append("░");
-            }
+        @Override
+        public ExecutorService provide(int shardId) {
+            return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("shard-" + shardId + "-events").factory());
         }
 
-        // Add percentage
-        String percentStr = String.format(" %.0f%%", frequency * 100);
-        bar.append(percentStr);
-
-        return bar.toString();
+        @Override
+        public boolean shouldShutdownAutomatically(int shardId) {
+            return true;
+        }
     }
 }
@@ -0,0 +1,181 @@
+package com.pyrem.leetcodebot.discord;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded request pipeline that processes Discord requests on virtual threads
+ * Caps concurrency per guild and per channel and sheds load once the queue is full,
+ * so a burst of requests in one guild cannot stall the JDA event thread or other guilds
+ */
+@Component
+@Slf4j
+public class MessageProcessingPipeline {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Entries live only while a request holds them, so idle guilds and channels are pruned
+    private final Map<String, Slot> guildSlots = new ConcurrentHashMap<>();
+    private final Map<String, Slot> channelSlots = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    @Value("${discord.bot.pipeline.max.queued:200}")
+    private int maxQueued;
+
+    @Value("${discord.bot.pipeline.guild.max.queued:20}")
+    private int maxQueuedPerGuild;
+
+    @Value("${discord.bot.pipeline.guild.concurrency:4}")
+    private int guildConcurrency;
+
+    @Value("${discord.bot.pipeline.channel.concurrency:2}")
+    private int channelConcurrency;
+
+    public MessageProcessingPipeline(MeterRegistry meterRegistry) {
+        Gauge.builder("discord.pipeline.queue.depth", queued, AtomicInteger::get)
+            .description("Requests waiting for a processing slot")
+            .register(meterRegistry);
+        Gauge.builder("discord.pipeline.active", active, AtomicInteger::get)
+            .description("Requests currently being processed")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("discord.pipeline.wait")
+            .description("Time a request spent queued before processing started")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("discord.pipeline.rejected")
+            .description("Requests shed because the pipeline was full")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Submit a request for processing
+     *
+     * @return false if the request was rejected because the global or per-guild queue is full
+     */
+    public boolean submit(String guildKey, String channelKey, Runnable task) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            return false;
+        }
+
+        Slot guild = retain(guildSlots, guildKey, guildConcurrency);
+        if (guild.queued.incrementAndGet() > maxQueuedPerGuild) {
+            guild.queued.decrementAndGet();
+            queued.decrementAndGet();
+            release(guildSlots, guildKey);
+            rejectedCounter.increment();
+            return false;
+        }
+
+        long enqueuedAt = System.nanoTime();
+        executor.execute(() -> run(guildKey, channelKey, guild, enqueuedAt, task));
+        return true;
+    }
+
+    /**
+     * Acquire the channel slot first so requests waiting on a busy channel
+     * do not hold guild slots that other channels in the same guild could use
+     */
+    private void run(String guildKey, String channelKey, Slot guild, long enqueuedAt, Runnable task) {
+        Slot channel = retain(channelSlots, channelKey, channelConcurrency);
+        boolean dequeued = false;
+
+        try {
+            channel.permits.acquire();
+            try {
+                guild.permits.acquire();
+                try {
+                    dequeued = dequeue(guild);
+                    active.incrementAndGet();
+                    waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    guild.permits.release();
+                }
+            } finally {
+                channel.permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Request processing interrupted for guild: {}, channel: {}", guildKey, channelKey);
+        } catch (Exception e) {
+            log.error("Unhandled error in request pipeline: {}", e.getMessage(), e);
+        } finally {
+            if (!dequeued) {
+                dequeue(guild);
+            }
+            release(channelSlots, channelKey);
+            release(guildSlots, guildKey);
+        }
+    }
+
+    private boolean dequeue(Slot guild) {
+        queued.decrementAndGet();
+        guild.queued.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Get or create the slot for a key and register one more holder
+     * Holder counts only change inside compute, so a slot cannot be removed while it is being retained
+     */
+    private static Slot retain(Map<String, Slot> slots, String key, int concurrency) {
+        return slots.compute(key, (k, slot) -> {
+            Slot held = slot != null ? slot : new Slot(concurrency);
+            held.holders++;
+            return held;
+        });
+    }
+
+    /**
+     * Drop one holder and remove the slot once nobody queued or running still uses it
+     */
+    private static void release(Map<String, Slot> slots, String key) {
+        slots.computeIfPresent(key, (k, slot) -> --slot.holders == 0 ? null : slot);
+    }
+
+    /**
+     * Number of requests currently waiting for a processing slot
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Concurrency permits and queue depth for one guild or channel
+     */
+    private static final class Slot {
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private int holders;
+
+        private Slot(int concurrency) {
+            this.permits = new Semaphore(concurrency);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.pyrem.leetcodebot.discord;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Paces outbound channel messages below Discord's rate limits instead of queueing everything on JDA at once
+ * Each channel has a token bucket (the create-message route is rate limited per channel) and all sends share
+ * a global bucket. A single dispatcher sends the best ready message: interactive replies (errors, busy notices)
+ * go before bulk output (problem lists), FIFO within a priority, and a throttled channel never blocks others.
+ * The queue is bounded: once it is full, further sends are dropped and counted as failed.
+ */
+@Component
+@Slf4j
+public class OutboundMessageScheduler {
+
+    public enum Priority {
+        INTERACTIVE,
+        BULK
+    }
+
+    private record Outbound(MessageChannel channel, MessageCreateData message, Priority priority,
+                            Consumer<Message> onSent, long sequence, long enqueuedAt) {
+    }
+
+    private static final Comparator<Outbound> ORDER = Comparator.comparing(Outbound::priority)
+        .thenComparingLong(Outbound::sequence);
+
+    private static final class ChannelQueue {
+
+        private final TokenBucket bucket;
+        private final PriorityQueue<Outbound> pending = new PriorityQueue<>(ORDER);
+
+        ChannelQueue(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    /**
+     * Guarded by lock
+     */
+    private final Map<String, ChannelQueue> channels = new HashMap<>();
+    private TokenBucket globalBucket;
+    private long sequence;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter interactiveSent;
+    private final Counter bulkSent;
+    private final Counter failedCounter;
+    private final Timer waitTimer;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    @Value("${discord.outbound.channel.burst:5}")
+    private int channelBurst;
+
+    @Value("${discord.outbound.channel.per.second:1.0}")
+    private double channelPerSecond;
+
+    @Value("${discord.outbound.global.burst:40}")
+    private int globalBurst;
+
+    @Value("${discord.outbound.global.per.second:40.0}")
+    private double globalPerSecond;
+
+    @Value("${discord.outbound.max.queued:1000}")
+    private int maxQueued;
+
+    public OutboundMessageScheduler(MeterRegistry meterRegistry) {
+        Gauge.builder("discord.outbound.queued", queued, AtomicInteger::get)
+            .description("Messages waiting for a rate limit token")
+            .register(meterRegistry);
+        this.interactiveSent = meterRegistry.counter("discord.outbound.sent", "priority", "interactive");
+        this.bulkSent = meterRegistry.counter("discord.outbound.sent", "priority", "bulk");
+        this.failedCounter = meterRegistry.counter("discord.outbound.failed");
+        this.waitTimer = Timer.builder("discord.outbound.wait")
+            .description("Time a message spent queued before it was sent")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        globalBucket = new TokenBucket(globalBurst, globalPerSecond, System.nanoTime());
+        running = true;
+        dispatcher = Thread.ofVirtual().name("discord-outbound").start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+
+        lock.lock();
+        try {
+            int dropped = queued.getAndSet(0);
+            channels.clear();
+            if (dropped > 0) {
+                failedCounter.increment(dropped);
+                log.warn("Outbound scheduler shut down with {} queued messages, dropping them", dropped);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void send(MessageChannel channel, String content, Priority priority) {
+        send(channel, MessageCreateData.fromContent(content), priority);
+    }
+
+    /**
+     * Queue a message for the channel; messages to one channel with the same priority are sent in order
+     */
+    public void send(MessageChannel channel, MessageCreateData message, Priority priority) {
+        send(channel, message, priority, sent -> { });
+    }
+
+    /**
+     * Queue a message and run the callback with the sent message once Discord accepted it
+     * The message is dropped if the queue is full
+     */
+    public void send(MessageChannel channel, MessageCreateData message, Priority priority, Consumer<Message> onSent) {
+        lock.lock();
+        try {
+            if (queued.get() >= maxQueued) {
+                failedCounter.increment();
+                log.warn("Outbound queue full ({} messages), dropping message to channel {}", maxQueued, channel.getId());
+                return;
+            }
+
+            long now = System.nanoTime();
+            channels.computeIfAbsent(channel.getId(),
+                    id -> new ChannelQueue(new TokenBucket(channelBurst, channelPerSecond, now)))
+                .pending.add(new Outbound(channel, message, priority, onSent, sequence++, now));
+            queued.incrementAndGet();
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Outbound next = awaitNext();
+                dispatch(next);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Outbound dispatcher error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Wait until some queued message has both a channel and a global token, and take it
+     */
+    private Outbound awaitNext() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                Outbound best = null;
+                ChannelQueue bestQueue = null;
+                long channelWait = Long.MAX_VALUE;
+
+                for (Iterator<ChannelQueue> it = channels.values().iterator(); it.hasNext(); ) {
+                    ChannelQueue queue = it.next();
+                    if (queue.pending.isEmpty()) {
+                        // Forget idle channels once their bucket has fully refilled
+                        if (queue.bucket.isFull(now)) {
+                            it.remove();
+                        }
+                        continue;
+                    }
+
+                    long wait = queue.bucket.nanosUntilAvailable(now);
+                    if (wait > 0) {
+                        channelWait = Math.min(channelWait, wait);
+                    } else if (best == null || ORDER.compare(queue.pending.peek(), best) < 0) {
+                        best = queue.pending.peek();
+                        bestQueue = queue;
+                    }
+                }
+
+                if (best != null && globalBucket.isAvailable(now)) {
+                    globalBucket.consume();
+                    bestQueue.bucket.consume();
+                    bestQueue.pending.poll();
+                    queued.decrementAndGet();
+                    return best;
+                }
+
+                long wait = best != null ? globalBucket.nanosUntilAvailable(now) : channelWait;
+                if (wait == Long.MAX_VALUE) {
+                    changed.await();
+                } else {
+                    changed.awaitNanos(wait);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch(Outbound outbound) {
+        waitTimer.record(System.nanoTime() - outbound.enqueuedAt(), TimeUnit.NANOSECONDS);
+        (outbound.priority() == Priority.INTERACTIVE ? interactiveSent : bulkSent).increment();
+
+        outbound.channel().sendMessage(outbound.message()).queue(
+            outbound.onSent(),
+            error -> {
+                failedCounter.increment();
+                log.warn("Failed to send message to channel {}: {}", outbound.channel().getId(), error.getMessage());
+            });
+    }
+
+    /**
+     * Number of messages waiting for a rate limit token
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+}
@@ -0,0 +1,66 @@
+package com.pyrem.leetcodebot.discord;
+
+import com.pyrem.leetcodebot.model.ProblemSet;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived sessions behind paginated responses, keyed by the id of the message carrying the buttons
+ * A session holds the resolved problem set, so page navigation renders from memory without another lookup.
+ * Bounded in size (LRU) and expired after a fixed lifetime.
+ */
+@Component
+public class PaginationSessionCache {
+
+    /**
+     * Problem set shown by a paginated message, with the company as the user wrote it
+     */
+    public record Session(String company, ProblemSet problemSet, long expiresAt) {
+    }
+
+    private final Map<Long, Session> sessions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Session> eldest) {
+            return size() > maxSessions;
+        }
+    };
+
+    @Value("${discord.pagination.session.minutes:15}")
+    private long sessionMinutes;
+
+    @Value("${discord.pagination.max.sessions:1000}")
+    private int maxSessions;
+
+    public PaginationSessionCache(MeterRegistry meterRegistry) {
+        Gauge.builder("discord.pagination.sessions", this, PaginationSessionCache::size)
+            .register(meterRegistry);
+    }
+
+    public synchronized void put(long messageId, String company, ProblemSet problemSet) {
+        sessions.put(messageId, new Session(company, problemSet,
+            System.nanoTime() + TimeUnit.MINUTES.toNanos(sessionMinutes)));
+    }
+
+    /**
+     * Session of a message, if it has not expired
+     */
+    public synchronized Optional<Session> get(long messageId) {
+        Session session = sessions.get(messageId);
+        if (session != null && System.nanoTime() - session.expiresAt() > 0) {
+            sessions.remove(messageId);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(session);
+    }
+
+    public synchronized int size() {
+        return sessions.size();
+    }
+}
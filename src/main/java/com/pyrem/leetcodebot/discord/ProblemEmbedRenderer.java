@@ -0,0 +1,247 @@
+package com.pyrem.leetcodebot.discord;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemDifficulty;
+import com.pyrem.leetcodebot.model.ProblemSet;
+import com.pyrem.leetcodebot.model.TimeRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Renders problem sets as ready-to-send Discord messages and caches the result
+ * The header is the text content of the first message, and embeds are packed into as few messages as
+ * Discord allows (10 embeds and 6000 embed characters per message).
+ * Rendered lists are keyed by (company as displayed, time range, version of the set), so a repeated request
+ * for an unchanged set reuses the same immutable embeds; a refreshed set has a new version and is re-rendered.
+ * Colors, frequency bars and percent labels are precomputed.
+ * <p>
+ * In paginated mode a single page is rendered per message, with prev/next buttons whose ids carry the target page.
+ */
+@Component
+public class ProblemEmbedRenderer {
+
+    private static final Color EASY_COLOR = new Color(0x00B8A3);
+    private static final Color MEDIUM_COLOR = new Color(0xFFC01E);
+    private static final Color HARD_COLOR = new Color(0xEF4743);
+
+    private static final int BAR_LENGTH = 10;
+
+    /**
+     * Component id prefix of the page buttons, followed by the target page index
+     */
+    public static final String PAGE_BUTTON_PREFIX = "problems:page:";
+
+    /**
+     * Render key page of a full (unpaginated) response
+     */
+    private static final int ALL_PAGES = -1;
+
+    /**
+     * Frequency bars by filled length (0-10), using Unicode blocks
+     */
+    private static final String[] FREQUENCY_BARS = new String[BAR_LENGTH + 1];
+
+    /**
+     * Frequency bar suffixes by whole percent (0-100), e.g. " 75%"
+     */
+    private static final String[] PERCENT_LABELS = new String[101];
+
+    static {
+        for (int filled = 0; filled <= BAR_LENGTH; filled++) {
+            FREQUENCY_BARS[filled] = "█".repeat(filled) + "░".repeat(BAR_LENGTH - filled);
+        }
+        for (int percent = 0; percent <= 100; percent++) {
+            PERCENT_LABELS[percent] = " " + percent + "%";
+        }
+    }
+
+    /**
+     * Rendered response for one company, in send order
+     */
+    public record RenderedProblemList(List<MessageCreateData> messages) {
+    }
+
+    private record RenderKey(String company, TimeRange timeRange, LocalDateTime version, int page) {
+    }
+
+    private final Map<RenderKey, RenderedProblemList> rendered = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RenderKey, RenderedProblemList> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${discord.embed.cache.max.entries:200}")
+    private int maxEntries;
+
+    @Value("${discord.pagination.page.size:10}")
+    private int pageSize;
+
+    public ProblemEmbedRenderer(MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter("discord.embed.cache.hits");
+        this.misses = meterRegistry.counter("discord.embed.cache.misses");
+        Gauge.builder("discord.embed.cache.size", this, ProblemEmbedRenderer::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Rendered embeds for a problem set, from the cache if this version was rendered before
+     */
+    public RenderedProblemList render(String company, ProblemSet problemSet) {
+        return cached(new RenderKey(company, problemSet.timeRange(), problemSet.lastUpdated(), ALL_PAGES),
+            () -> renderList(company, problemSet.problems()));
+    }
+
+    /**
+     * One page of a problem set with navigation buttons, from the cache if it was rendered before
+     * Pages outside the set are clamped to the first or last page.
+     */
+    public MessageCreateData renderPage(String company, ProblemSet problemSet, int page) {
+        int pages = pageCount(problemSet);
+        int clamped = Math.max(0, Math.min(pages - 1, page));
+        return cached(new RenderKey(company, problemSet.timeRange(), problemSet.lastUpdated(), clamped),
+            () -> renderSinglePage(company, problemSet.problems(), clamped, pages)).messages().get(0);
+    }
+
+    public int pageCount(ProblemSet problemSet) {
+        int size = effectivePageSize();
+        return Math.max(1, (problemSet.size() + size - 1) / size);
+    }
+
+    private RenderedProblemList cached(RenderKey key, Supplier<RenderedProblemList> renderer) {
+        synchronized (this) {
+            RenderedProblemList cached = rendered.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        // Rendered outside the lock; two threads racing on the same key produce identical results
+        misses.increment();
+        RenderedProblemList list = renderer.get();
+        synchronized (this) {
+            rendered.put(key, list);
+        }
+        return list;
+    }
+
+    public synchronized int size() {
+        return rendered.size();
+    }
+
+    private static RenderedProblemList renderList(String company, List<LeetCodeProblem> problems) {
+        List<MessageEmbed> embeds = new ArrayList<>(problems.size());
+        problems.forEach(problem -> embeds.add(renderProblem(problem)));
+
+        List<MessageCreateData> messages = new ArrayList<>();
+        MessageCreateBuilder message = new MessageCreateBuilder().setContent(header(company, problems.size()));
+        int count = 0;
+        int length = 0;
+
+        for (MessageEmbed embed : embeds) {
+            if (count == Message.MAX_EMBED_COUNT || length + embed.getLength() > MessageEmbed.EMBED_MAX_LENGTH_BOT) {
+                messages.add(message.build());
+                message = new MessageCreateBuilder();
+                count = 0;
+                length = 0;
+            }
+            message.addEmbeds(embed);
+            count++;
+            length += embed.getLength();
+        }
+        messages.add(message.build());
+
+        return new RenderedProblemList(List.copyOf(messages));
+    }
+
+    private RenderedProblemList renderSinglePage(String company, List<LeetCodeProblem> problems, int page, int pages) {
+        int size = effectivePageSize();
+        List<MessageEmbed> embeds = new ArrayList<>(size);
+        problems.subList(page * size, Math.min(problems.size(), (page + 1) * size))
+            .forEach(problem -> embeds.add(renderProblem(problem)));
+
+        MessageCreateBuilder message = new MessageCreateBuilder()
+            .setContent(header(company, problems.size()) + " · page " + (page + 1) + "/" + pages)
+            .setEmbeds(embeds);
+        if (pages > 1) {
+            message.addActionRow(
+                Button.secondary(PAGE_BUTTON_PREFIX + (page - 1), "◀ Prev").withDisabled(page == 0),
+                Button.secondary(PAGE_BUTTON_PREFIX + (page + 1), "Next ▶").withDisabled(page == pages - 1));
+        }
+
+        return new RenderedProblemList(List.of(message.build()));
+    }
+
+    /**
+     * Page size within Discord's 10 embeds per message
+     */
+    private int effectivePageSize() {
+        return Math.max(1, Math.min(Message.MAX_EMBED_COUNT, pageSize));
+    }
+
+    private static String header(String company, int problemCount) {
+        return "📋 **" + company + " LeetCode Problems**\nFound **" + problemCount + "** problems";
+    }
+
+    /**
+     * Rich embed for a single problem: linked title, difficulty color, acceptance rate and frequency bar
+     */
+    static MessageEmbed renderProblem(LeetCodeProblem problem) {
+        String details = "**Acceptance:** " + formatPercent(problem.getAcceptanceRate()) + "\n"
+            + "**Difficulty:** " + problem.getDifficulty().getDisplayName() + "\n"
+            + "**Frequency:** " + frequencyBar(problem.getFrequency());
+
+        return new EmbedBuilder()
+            .setTitle(problem.getProblemNumber() + ". " + problem.getProblemName(), problem.getUrl())
+            .setColor(colorOf(problem.getDifficulty()))
+            .setDescription(details)
+            .build();
+    }
+
+    private static Color colorOf(ProblemDifficulty difficulty) {
+        return switch (difficulty) {
+            case EASY -> EASY_COLOR;
+            case MEDIUM -> MEDIUM_COLOR;
+            case HARD -> HARD_COLOR;
+        };
+    }
+
+    /**
+     * Rate as a percentage with one decimal (0.566 -> "56.6%")
+     */
+    private static String formatPercent(Double rate) {
+        long tenths = Math.round((rate != null ? rate : 0.0) * 1000);
+        return tenths / 10 + "." + tenths % 10 + "%";
+    }
+
+    /**
+     * Frequency as a 10-block bar followed by the whole percentage
+     */
+    private static String frequencyBar(Double frequency) {
+        double value = frequency != null ? frequency : 0.0;
+        int filled = (int) Math.max(0, Math.min(BAR_LENGTH, Math.round(value * BAR_LENGTH)));
+        int percent = (int) Math.max(0, Math.min(100, Math.round(value * 100)));
+        return FREQUENCY_BARS[filled] + PERCENT_LABELS[percent];
+    }
+}
@@ -0,0 +1,50 @@
+package com.pyrem.leetcodebot.discord;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to its burst capacity
+ * Not thread-safe; callers synchronize
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int capacity, double tokensPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    boolean isAvailable(long now) {
+        refill(now);
+        return tokens >= 1;
+    }
+
+    void consume() {
+        tokens -= 1;
+    }
+
+    /**
+     * Nanoseconds until a token is available (0 if one is available now)
+     */
+    long nanosUntilAvailable(long now) {
+        refill(now);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * Whether the bucket is back at full capacity, i.e. holds no rate limit state worth keeping
+     */
+    boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,52 @@
+package com.pyrem.leetcodebot.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity persisting a parsed request for a normalized message
+ * Lets the parsed request cache survive restarts
+ */
+@Entity
+@Table(name = "parsed_request_cache")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParsedRequestEntry {
+
+    /**
+     * Normalized message text (case-folded, punctuation stripped, whitespace collapsed)
+     */
+    @Id
+    @Column(length = 500)
+    private String normalizedMessage;
+
+    /**
+     * Comma-separated company names
+     */
+    @Column(nullable = false, length = 1000)
+    private String companies;
+
+    /**
+     * Time range key (e.g., "last30days"), null if not specified
+     */
+    private String timeRange;
+
+    /**
+     * Whether the user explicitly specified a time range
+     */
+    @Column(nullable = false)
+    private boolean explicitTimeRange;
+
+    /**
+     * When this entry was parsed
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,35 @@
+package com.pyrem.leetcodebot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A problem together with the dates a company was reported to have asked it.
+ * Fetched once per company; every time range's problem set is derived from it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProblemAskHistory {
+
+    private Integer problemNumber;
+
+    private String problemName;
+
+    private Double acceptanceRate;
+
+    private ProblemDifficulty difficulty;
+
+    private String url;
+
+    /**
+     * Dates the problem was asked, in any order
+     */
+    private List<LocalDate> askedDates;
+}
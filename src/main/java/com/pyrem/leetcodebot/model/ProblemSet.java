@@ -0,0 +1,19 @@
+package com.pyrem.leetcodebot.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A resolved problem set: the key (including the time range actually served) and the time its contents
+ * were last updated, which doubles as the version of the set
+ */
+public record ProblemSet(ProblemSetKey key, List<LeetCodeProblem> problems, LocalDateTime lastUpdated) {
+
+    public TimeRange timeRange() {
+        return key.timeRange();
+    }
+
+    public int size() {
+        return problems.size();
+    }
+}
@@ -0,0 +1,14 @@
+package com.pyrem.leetcodebot.model;
+
+/**
+ * Identifies a cached problem set by normalized company name and time range
+ */
+public record ProblemSetKey(String company, TimeRange timeRange) {
+
+    /**
+     * Create a key, normalizing the company name the same way table names are derived
+     */
+    public static ProblemSetKey of(String company, TimeRange timeRange) {
+        return new ProblemSetKey(CompanyProblemRequest.normalizeCompanyName(company), timeRange);
+    }
+}
@@ -32,6 +32,17 @@ public enum TimeRange {
         return days;
     }
 
+    /**
+     * Whether an ask this many days ago falls inside this time range
+     */
+    public boolean contains(long daysAgo) {
+        return switch (this) {
+            case MORE_THAN_6_MONTHS -> daysAgo > LAST_6_MONTHS.days;
+            case ALL -> true;
+            default -> daysAgo <= days;
+        };
+    }
+
     /**
      * Get table suffix for this time range (e.g., "last30days")
      */
@@ -50,6 +61,13 @@ public enum TimeRange {
         String normalized = range.toLowerCase()
             .replaceAll("[^a-z0-9]", "");
 
+        // Stored keys first: "morethan6months" would otherwise match the 6 months pattern below
+        for (TimeRange tr : values()) {
+            if (normalized.equals(tr.key)) {
+                return tr;
+            }
+        }
+
         // Check for numeric patterns (e.g., "30 days", "3 months")
         if (normalized.contains("30") && normalized.contains("day")) {
             return LAST_30_DAYS;
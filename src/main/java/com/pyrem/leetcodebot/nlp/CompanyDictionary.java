@@ -0,0 +1,407 @@
+package com.pyrem.leetcodebot.nlp;
+
+import com.pyrem.leetcodebot.model.CompanyProblemRequest;
+import com.pyrem.leetcodebot.model.CachedProblemSet;
+import com.pyrem.leetcodebot.repository.ProblemSetRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Single dictionary of company names, aliases (e.g. "fb" -> Meta) and request keywords,
+ * loaded from configuration and the cached problem sets in the database, and rebuilt whenever the registry
+ * reports a change in the set of cached companies
+ * <p>
+ * All phrases are compiled into one Aho-Corasick automaton stored as a dense transition table, so a message
+ * is scanned in a single pass without allocating. Letters and digits are case-folded, every other character
+ * is a separator, and runs of separators collapse into one. Phrases are wrapped in separators, which makes
+ * every match a whole-word match ("meta" does not match "metadata"). Each non-ASCII letter or digit used in a
+ * phrase gets its own character class, so "nestlé" matches neither "nestle" nor "nestlè".
+ */
+@Component
+@Slf4j
+public class CompanyDictionary {
+
+    /**
+     * Fixed character classes: separator, any non-ASCII letter or digit not used by a phrase, then a-z and 0-9.
+     * Non-ASCII letters and digits used by phrases get classes from FIXED_CLASSES up, per automaton
+     */
+    private static final int SEPARATOR = 0;
+    private static final int OTHER = 1;
+    private static final int FIXED_CLASSES = 2 + 26 + 10;
+
+    private static final byte[] ASCII_CLASSES = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ASCII_CLASSES[c] = (byte) (2 + c - 'a');
+            ASCII_CLASSES[Character.toUpperCase(c)] = (byte) (2 + c - 'a');
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ASCII_CLASSES[c] = (byte) (2 + 26 + c - '0');
+        }
+    }
+
+    /**
+     * Words that mark a message as a request even without a company name
+     */
+    private static final List<String> REQUEST_KEYWORDS = List.of(
+        "leetcode", "problem", "problems", "question", "questions"
+    );
+
+    private final ProblemSetRegistry problemSetRegistry;
+
+    @Value("${leetcode.companies:Microsoft,Google,Amazon,Meta,Apple}")
+    private List<String> companies;
+
+    /**
+     * Aliases in "alias:Company" form (e.g. "fb:Meta")
+     */
+    @Value("${leetcode.company.aliases:}")
+    private List<String> aliases;
+
+    /**
+     * Normalized phrase (lowercase words separated by single spaces) to canonical company name
+     */
+    private volatile Map<String, String> phrases = Map.of();
+
+    /**
+     * Storage-normalized names (CompanyProblemRequest.normalizeCompanyName) of every company in the dictionary
+     */
+    private volatile Set<String> knownCompanies = Set.of();
+
+    /**
+     * Compiled automaton, replaced as a whole on reload
+     */
+    private volatile Automaton automaton = new Automaton(List.of(), List.of());
+
+    public CompanyDictionary(ProblemSetRegistry problemSetRegistry) {
+        this.problemSetRegistry = problemSetRegistry;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Rebuild once a company is cached for the first time (here or, after a registry reload, by another instance),
+     * so the prefilter and fallback extraction know it
+     */
+    @EventListener
+    public void onCompaniesChanged(ProblemSetRegistry.CompaniesChanged event) {
+        reload();
+    }
+
+    /**
+     * Rebuild the dictionary from configuration and the companies that have cached problem sets
+     */
+    public synchronized void reload() {
+        Map<String, String> loaded = new HashMap<>();
+
+        for (String company : companies) {
+            String phrase = normalizePhrase(company);
+            if (!phrase.isEmpty()) {
+                loaded.put(phrase, company.trim());
+            }
+        }
+        for (String alias : aliases) {
+            int separator = alias.indexOf(':');
+            String phrase = separator > 0 ? normalizePhrase(alias.substring(0, separator)) : "";
+            if (!phrase.isEmpty()) {
+                loaded.putIfAbsent(phrase, alias.substring(separator + 1).trim());
+            }
+        }
+
+        // Companies only known from the database are stored normalized, so display them capitalized
+        Set<String> configured = new HashSet<>();
+        loaded.values().forEach(name -> configured.add(CompanyProblemRequest.normalizeCompanyName(name)));
+        for (CachedProblemSet cached : problemSetRegistry.findAll()) {
+            String stored = cached.getCompanyName();
+            if (!stored.isBlank() && !configured.contains(stored)) {
+                loaded.putIfAbsent(stored, Character.toUpperCase(stored.charAt(0)) + stored.substring(1));
+            }
+        }
+
+        List<String> patterns = new ArrayList<>(loaded.keySet());
+        List<String> canonical = new ArrayList<>(patterns.size() + REQUEST_KEYWORDS.size());
+        patterns.forEach(phrase -> canonical.add(loaded.get(phrase)));
+        for (String keyword : REQUEST_KEYWORDS) {
+            if (!loaded.containsKey(keyword)) {
+                patterns.add(keyword);
+                canonical.add(null);
+            }
+        }
+
+        phrases = Map.copyOf(loaded);
+        knownCompanies = loaded.values().stream()
+            .map(CompanyProblemRequest::normalizeCompanyName)
+            .collect(Collectors.toUnmodifiableSet());
+        automaton = new Automaton(patterns, canonical);
+        log.info("Company dictionary loaded {} names and aliases ({} automaton states)",
+            loaded.size(), automaton.stateCount());
+    }
+
+    /**
+     * Canonical company name for a normalized phrase, or null if it is not a known company or alias
+     */
+    public String lookup(String normalizedPhrase) {
+        return phrases.get(normalizedPhrase);
+    }
+
+    /**
+     * Company names for autocomplete: canonical names whose name or alias starts with the typed prefix,
+     * including companies cached since the dictionary was loaded, sorted and limited
+     */
+    public List<String> suggestCompanies(String prefix, int limit) {
+        String normalizedPrefix = normalizePhrase(prefix);
+        Set<String> suggestions = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        phrases.forEach((phrase, company) -> {
+            if (phrase.startsWith(normalizedPrefix)) {
+                suggestions.add(company);
+            }
+        });
+        for (CachedProblemSet cached : problemSetRegistry.findAll()) {
+            String stored = cached.getCompanyName();
+            if (!stored.isBlank() && stored.startsWith(normalizedPrefix) && !knownCompanies.contains(stored)) {
+                suggestions.add(Character.toUpperCase(stored.charAt(0)) + stored.substring(1));
+            }
+        }
+
+        return suggestions.stream().limit(limit).toList();
+    }
+
+    /**
+     * Prefilter: whether the message mentions a known company, alias or request keyword
+     */
+    public boolean containsAny(CharSequence text) {
+        return automaton.containsAny(text);
+    }
+
+    /**
+     * All companies mentioned in the message, in order of first mention, preferring the longest phrase
+     * where matches overlap ("bank of america" over "america")
+     */
+    public List<String> findCompanies(CharSequence text) {
+        return automaton.findCompanies(text);
+    }
+
+    /**
+     * Normalize a phrase the same way the automaton reads text: lowercase words separated by single spaces
+     */
+    public static String normalizePhrase(String phrase) {
+        StringBuilder normalized = new StringBuilder(phrase.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            if (isSeparator(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && !normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            normalized.append(Character.toLowerCase(c));
+            pendingSpace = false;
+        }
+
+        return normalized.toString();
+    }
+
+    private static boolean isSeparator(char c) {
+        return c < 128 ? ASCII_CLASSES[c] == SEPARATOR : !Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * Dense Aho-Corasick DFA: transitions[state * alphabetSize + class] is the next state with failure
+     * links already folded in, and each state knows the longest pattern ending there plus the next state
+     * on its suffix chain that also ends a pattern
+     */
+    private static final class Automaton {
+
+        /**
+         * Sorted non-ASCII letters and digits occurring in the patterns,
+         * the one at index i has class FIXED_CLASSES + i
+         */
+        private final char[] extraChars;
+        private final int alphabetSize;
+        private final int[] transitions;
+        private final int[] output;
+        private final int[] outputLink;
+        private final int[] patternLength;
+        private final String[] canonical;
+
+        Automaton(List<String> patterns, List<String> canonicalNames) {
+            canonical = canonicalNames.toArray(new String[0]);
+            patternLength = new int[patterns.size()];
+
+            Set<Character> extra = new TreeSet<>();
+            for (String pattern : patterns) {
+                for (int i = 0; i < pattern.length(); i++) {
+                    char c = pattern.charAt(i);
+                    if (c >= 128 && Character.isLetterOrDigit(c)) {
+                        extra.add(c);
+                    }
+                }
+            }
+            extraChars = new char[extra.size()];
+            int slot = 0;
+            for (char c : extra) {
+                extraChars[slot++] = c;
+            }
+            alphabetSize = FIXED_CLASSES + extraChars.length;
+
+            // Trie over the separator-wrapped patterns
+            int maxStates = 1;
+            for (String pattern : patterns) {
+                maxStates += pattern.length() + 2;
+            }
+            int[] trie = new int[maxStates * alphabetSize];
+            Arrays.fill(trie, -1);
+            int[] out = new int[maxStates];
+            Arrays.fill(out, -1);
+            int states = 1;
+
+            for (int p = 0; p < patterns.size(); p++) {
+                String wrapped = " " + patterns.get(p) + " ";
+                patternLength[p] = wrapped.length();
+                int state = 0;
+                for (int i = 0; i < wrapped.length(); i++) {
+                    int index = state * alphabetSize + classOf(wrapped.charAt(i));
+                    if (trie[index] < 0) {
+                        trie[index] = states++;
+                    }
+                    state = trie[index];
+                }
+                out[state] = p;
+            }
+
+            transitions = Arrays.copyOf(trie, states * alphabetSize);
+            output = Arrays.copyOf(out, states);
+            outputLink = new int[states];
+            int[] failure = new int[states];
+            Arrays.fill(outputLink, -1);
+
+            // Breadth-first pass turning the trie into a DFA
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int c = 0; c < alphabetSize; c++) {
+                int next = transitions[c];
+                if (next < 0) {
+                    transitions[c] = 0;
+                } else {
+                    failure[next] = 0;
+                    queue.add(next);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                int fail = failure[state];
+                outputLink[state] = output[fail] >= 0 ? fail : outputLink[fail];
+
+                for (int c = 0; c < alphabetSize; c++) {
+                    int index = state * alphabetSize + c;
+                    int next = transitions[index];
+                    if (next < 0) {
+                        transitions[index] = transitions[fail * alphabetSize + c];
+                    } else {
+                        failure[next] = transitions[fail * alphabetSize + c];
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Patterns are already lowercase, text is folded here
+         */
+        private int classOf(char c) {
+            if (c < 128) {
+                return ASCII_CLASSES[c];
+            }
+            if (!Character.isLetterOrDigit(c)) {
+                return SEPARATOR;
+            }
+            int extra = Arrays.binarySearch(extraChars, Character.toLowerCase(c));
+            return extra >= 0 ? FIXED_CLASSES + extra : OTHER;
+        }
+
+        int stateCount() {
+            return output.length;
+        }
+
+        boolean containsAny(CharSequence text) {
+            int state = transitions[SEPARATOR];
+            int previous = SEPARATOR;
+
+            for (int i = 0, length = text.length(); i <= length; i++) {
+                int c = i < length ? classOf(text.charAt(i)) : SEPARATOR;
+                if (c == SEPARATOR && previous == SEPARATOR) {
+                    continue;
+                }
+                previous = c;
+                state = transitions[state * alphabetSize + c];
+                if (output[state] >= 0 || outputLink[state] >= 0) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        List<String> findCompanies(CharSequence text) {
+            // Matches as (start, end, pattern) positions in the collapsed character stream
+            List<int[]> matches = new ArrayList<>();
+            int state = transitions[SEPARATOR];
+            int previous = SEPARATOR;
+            int position = 1;
+
+            for (int i = 0, length = text.length(); i <= length; i++) {
+                int c = i < length ? classOf(text.charAt(i)) : SEPARATOR;
+                if (c == SEPARATOR && previous == SEPARATOR) {
+                    continue;
+                }
+                previous = c;
+                state = transitions[state * alphabetSize + c];
+                position++;
+
+                for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                    int pattern = output[s];
+                    if (canonical[pattern] != null) {
+                        matches.add(new int[]{position - patternLength[pattern], position, pattern});
+                    }
+                }
+            }
+
+            // Longest match wins where matches overlap (ignoring the shared separator between neighbours)
+            Set<String> found = new LinkedHashSet<>();
+            matches.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(b[1], a[1]));
+            int coveredUntil = -1;
+            for (int[] match : matches) {
+                if (match[0] + 1 >= coveredUntil) {
+                    found.add(canonical[match[2]]);
+                    coveredUntil = match[1];
+                }
+            }
+
+            return new ArrayList<>(found);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.pyrem.leetcodebot.nlp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Long-lived LLM client that sends a prompt and returns the JSON value from the completion
+ * The ChatClient is built once and shared by all callers. Every call runs through the circuit breaker
+ * and is abandoned once it exceeds the latency budget.
+ */
+@Component
+@Slf4j
+public class JsonCompletionClient {
+
+    private final ChatClient chatClient;
+    private final LlmCircuitBreaker circuitBreaker;
+    private final Counter earlyTerminations;
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Stream the completion and stop generation as soon as the JSON value is closed
+     */
+    @Value("${nlp.llm.streaming:true}")
+    private boolean streaming;
+
+    /**
+     * Latency budget per call
+     */
+    @Value("${nlp.llm.timeout.seconds:10}")
+    private long timeoutSeconds;
+
+    public JsonCompletionClient(ChatClient.Builder chatClientBuilder, LlmCircuitBreaker circuitBreaker,
+                                MeterRegistry meterRegistry) {
+        this.chatClient = chatClientBuilder.build();
+        this.circuitBreaker = circuitBreaker;
+        this.earlyTerminations = meterRegistry.counter("nlp.llm.stream.early.terminations");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    /**
+     * Send a prompt and extract the first complete JSON value from the response
+     *
+     * @throws IllegalStateException if the response contains no complete JSON value or the budget ran out
+     * @throws LlmCircuitBreaker.OpenException if the model host is considered down and no call was made
+     */
+    public String complete(String prompt, StreamingJsonExtractor extractor) {
+        return circuitBreaker.execute(() -> streaming
+            ? completeStreaming(prompt, extractor)
+            : completeBlocking(prompt, extractor));
+    }
+
+    private String completeBlocking(String prompt, StreamingJsonExtractor extractor) {
+        Future<String> call = callExecutor.submit(() -> chatClient.prompt(new Prompt(new UserMessage(prompt)))
+            .call()
+            .content());
+
+        String response;
+        try {
+            response = call.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw new IllegalStateException("LLM call exceeded " + timeoutSeconds + "s budget");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("LLM call failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for LLM response", e);
+        }
+
+        log.debug("LLM Response: {}", response);
+
+        if (response == null || !extractor.feed(response)) {
+            throw new IllegalStateException("LLM response did not contain a complete JSON value");
+        }
+
+        return extractor.getJson();
+    }
+
+    /**
+     * Feed the token stream into the extractor and cancel the stream once the value is closed,
+     * so the model stops generating any trailing text
+     * takeUntil cancels upstream of itself, so the early stop is counted there; a timeout also cancels,
+     * but leaves the value incomplete
+     */
+    private String completeStreaming(String prompt, StreamingJsonExtractor extractor) {
+        chatClient.prompt(new Prompt(new UserMessage(prompt)))
+            .stream()
+            .content()
+            .doOnCancel(() -> {
+                if (extractor.isComplete()) {
+                    earlyTerminations.increment();
+                }
+            })
+            .takeUntil(extractor::feed)
+            .blockLast(Duration.ofSeconds(timeoutSeconds));
+
+        if (!extractor.isComplete()) {
+            throw new IllegalStateException("LLM stream ended without a complete JSON value");
+        }
+
+        log.debug("LLM Response (streamed): {}", extractor.getJson());
+        return extractor.getJson();
+    }
+}
@@ -0,0 +1,230 @@
+package com.pyrem.leetcodebot.nlp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for the LLM dependency
+ * Tracks the outcome of the last calls in a sliding window, counting errors and calls slower than the
+ * slow-call threshold as bad. Once the bad share crosses the threshold the breaker opens and callers are
+ * rejected immediately (and use the fallback parser). After the open period a limited number of probe
+ * calls are let through; if they succeed the breaker closes, otherwise it opens again for twice as long.
+ */
+@Component
+@Slf4j
+public class LlmCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Thrown when a call is rejected without being attempted
+     */
+    public static class OpenException extends RuntimeException {
+        public OpenException() {
+            super("LLM circuit breaker is open");
+        }
+    }
+
+    private final Timer latencyTimer;
+    private final Counter rejectedCounter;
+    private final Counter okCounter;
+    private final Counter slowCounter;
+    private final Counter errorCounter;
+    private final Map<State, Counter> transitionCounters = new EnumMap<>(State.class);
+
+    @Value("${nlp.llm.breaker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${nlp.llm.breaker.window.size:20}")
+    private int windowSize;
+
+    @Value("${nlp.llm.breaker.min.calls:5}")
+    private int minCalls;
+
+    @Value("${nlp.llm.breaker.failure.rate:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${nlp.llm.breaker.slow.call.ms:5000}")
+    private long slowCallMillis;
+
+    @Value("${nlp.llm.breaker.open.ms:10000}")
+    private long baseOpenMillis;
+
+    @Value("${nlp.llm.breaker.max.open.ms:300000}")
+    private long maxOpenMillis;
+
+    @Value("${nlp.llm.breaker.half.open.probes:2}")
+    private int halfOpenProbes;
+
+    private State state = State.CLOSED;
+
+    /**
+     * Ring buffer of recent outcomes (true = failed or slow)
+     */
+    private boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int badCount;
+
+    private long openMillis;
+    private long openUntilNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public LlmCircuitBreaker(MeterRegistry meterRegistry) {
+        this.latencyTimer = Timer.builder("nlp.llm.latency")
+            .description("LLM call latency")
+            .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("nlp.llm.breaker.rejected");
+        this.okCounter = meterRegistry.counter("nlp.llm.calls", "outcome", "ok");
+        this.slowCounter = meterRegistry.counter("nlp.llm.calls", "outcome", "slow");
+        this.errorCounter = meterRegistry.counter("nlp.llm.calls", "outcome", "error");
+        for (State next : State.values()) {
+            transitionCounters.put(next,
+                meterRegistry.counter("nlp.llm.breaker.transitions", "to", next.name().toLowerCase()));
+        }
+        Gauge.builder("nlp.llm.breaker.state", this, breaker -> breaker.getState().ordinal())
+            .description("LLM circuit breaker state (0 closed, 1 open, 2 half-open)")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        window = new boolean[Math.max(1, windowSize)];
+        openMillis = baseOpenMillis;
+    }
+
+    /**
+     * Run an LLM call through the breaker, recording its latency and outcome
+     *
+     * @throws OpenException if the breaker is open and the call was not attempted
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        boolean probe = acquire();
+        long start = System.nanoTime();
+
+        boolean succeeded = false;
+        try {
+            T result = call.get();
+            succeeded = true;
+            return result;
+        } finally {
+            // Errors count as failures too, so a probe slot is always released
+            onResult(probe, System.nanoTime() - start, succeeded);
+        }
+    }
+
+    /**
+     * Whether calls are currently being rejected, so callers can skip queueing work for the LLM
+     */
+    public synchronized boolean isRejecting() {
+        return enabled && state == State.OPEN && System.nanoTime() < openUntilNanos;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return true if the permitted call is a half-open probe
+     */
+    private synchronized boolean acquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() < openUntilNanos) {
+                rejectedCounter.increment();
+                throw new OpenException();
+            }
+            transitionTo(State.HALF_OPEN);
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                rejectedCounter.increment();
+                throw new OpenException();
+            }
+            probesInFlight++;
+            return true;
+        }
+
+        return false;
+    }
+
+    private synchronized void onResult(boolean probe, long elapsedNanos, boolean succeeded) {
+        latencyTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        boolean bad = !succeeded || elapsedNanos > TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        (!succeeded ? errorCounter : bad ? slowCounter : okCounter).increment();
+
+        if (probe) {
+            probesInFlight--;
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            if (bad) {
+                // Still degraded: back off for longer before probing again
+                open(Math.min(maxOpenMillis, openMillis * 2));
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                close();
+            }
+            return;
+        }
+
+        if (state != State.CLOSED) {
+            return;
+        }
+
+        if (windowCount == window.length) {
+            badCount -= window[windowIndex] ? 1 : 0;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = bad;
+        badCount += bad ? 1 : 0;
+        windowIndex = (windowIndex + 1) % window.length;
+
+        if (windowCount >= minCalls && (double) badCount / windowCount >= failureRateThreshold) {
+            open(baseOpenMillis);
+        }
+    }
+
+    private void open(long millis) {
+        openMillis = millis;
+        openUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        transitionTo(State.OPEN);
+        log.warn("LLM circuit breaker opened for {} ms", millis);
+    }
+
+    private void close() {
+        openMillis = baseOpenMillis;
+        windowIndex = 0;
+        windowCount = 0;
+        badCount = 0;
+        transitionTo(State.CLOSED);
+        log.info("LLM circuit breaker closed, model host recovered");
+    }
+
+    private void transitionTo(State next) {
+        if (state != next) {
+            state = next;
+            transitionCounters.get(next).increment();
+        }
+    }
+}
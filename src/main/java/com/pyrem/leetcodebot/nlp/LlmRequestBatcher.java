@@ -0,0 +1,216 @@
+package com.pyrem.leetcodebot.nlp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batching stage for LLM parse calls
+ * Messages arriving within a short window are parsed with one prompt that returns a JSON array,
+ * and the results are split back to the individual callers
+ */
+@Component
+@Slf4j
+public class LlmRequestBatcher {
+
+    private static final String BATCH_PROMPT_HEADER = """
+        You are a helpful assistant that extracts structured information from user requests about LeetCode problems.
+
+        For EACH numbered user message below, extract:
+        1. Company names (e.g., Microsoft, Google, Amazon, Meta, Apple)
+        2. Time range if specified (e.g., "30 days", "3 months", "6 months", "all time")
+
+        User messages (each a JSON string):
+        """;
+
+    private static final String BATCH_PROMPT_FOOTER = """
+
+        Respond ONLY with a JSON array containing exactly one object per message, in the same order (no additional text):
+        [
+          {"index": 1, "companies": ["Company1"], "timeRange": "last30days|last3months|last6months|morethan6months|all|null", "explicitTimeRange": true|false}
+        ]
+
+        Rules:
+        - "index" is the number of the message the object belongs to
+        - If no companies are mentioned, return an empty array for that message
+        - If no time range is specified, set timeRange to null and explicitTimeRange to false
+        - If a time range is specified, set explicitTimeRange to true
+        - Normalize company names to proper case (e.g., "microsoft" -> "Microsoft")
+        """;
+
+    private record Pending(String message, CompletableFuture<JsonNode> result) {
+    }
+
+    private final JsonCompletionClient jsonCompletionClient;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DistributionSummary batchSizeSummary;
+
+    private Thread dispatcher;
+    private volatile boolean stopped;
+
+    @Value("${nlp.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${nlp.batch.window.ms:5}")
+    private long windowMillis;
+
+    @Value("${nlp.batch.max.size:16}")
+    private int maxBatchSize;
+
+    public LlmRequestBatcher(JsonCompletionClient jsonCompletionClient, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.jsonCompletionClient = jsonCompletionClient;
+        this.objectMapper = objectMapper;
+        this.batchSizeSummary = DistributionSummary.builder("nlp.batch.size")
+            .description("Messages parsed per LLM call")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            dispatcher = Thread.ofVirtual().name("llm-batch-dispatcher").start(this::dispatchLoop);
+        }
+    }
+
+    /**
+     * Stop dispatching and fail every message still waiting in the queue, so no caller is left waiting
+     */
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        batchExecutor.shutdownNow();
+
+        List<Pending> unsent = new ArrayList<>();
+        queue.drainTo(unsent);
+        unsent.forEach(pending -> pending.result().completeExceptionally(
+            new IllegalStateException("LLM request batcher stopped")));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a message for the next batch
+     *
+     * @return future completed with the parsed JSON object for this message,
+     * or completed exceptionally if the batch call failed or returned nothing for it
+     */
+    public CompletableFuture<JsonNode> submit(String message) {
+        CompletableFuture<JsonNode> result = new CompletableFuture<>();
+        if (stopped) {
+            result.completeExceptionally(new IllegalStateException("LLM request batcher stopped"));
+            return result;
+        }
+
+        queue.add(new Pending(message, result));
+        if (stopped && queue.remove(new Pending(message, result))) {
+            // Raced with stop() after it drained the queue
+            result.completeExceptionally(new IllegalStateException("LLM request batcher stopped"));
+        }
+        return result;
+    }
+
+    /**
+     * Collect messages until the window closes or the batch is full, then hand the batch off
+     */
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Pending> batch = new ArrayList<>(maxBatchSize);
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (batch.size() < maxBatchSize) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                batchExecutor.execute(() -> runBatch(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runBatch(List<Pending> batch) {
+        batchSizeSummary.record(batch.size());
+        Exception failure = null;
+
+        try {
+            if (batch.size() == 1) {
+                Pending single = batch.get(0);
+                String json = jsonCompletionClient.complete(
+                    RequestParserService.buildPrompt(single.message()), StreamingJsonExtractor.forObject());
+                single.result().complete(objectMapper.readTree(json));
+                return;
+            }
+
+            String json = jsonCompletionClient.complete(buildBatchPrompt(batch), StreamingJsonExtractor.forArray());
+            distribute(batch, objectMapper.readTree(json));
+        } catch (Exception e) {
+            log.warn("Batch parse of {} messages failed: {}", batch.size(), e.getMessage());
+            failure = e;
+        } finally {
+            // Anything left unanswered falls back to per-message parsing in the caller; the original failure
+            // is passed on so callers can tell an open circuit breaker from a bad response
+            Exception cause = failure != null ? failure : new IllegalStateException("No batch parse result for message");
+            batch.forEach(pending -> pending.result().completeExceptionally(cause));
+        }
+    }
+
+    /**
+     * Split the array of results back to the callers, by "index" if present, otherwise by position
+     */
+    private void distribute(List<Pending> batch, JsonNode results) {
+        if (!results.isArray()) {
+            return;
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            JsonNode result = results.get(i);
+            int index = result.hasNonNull("index") ? result.get("index").asInt() - 1 : i;
+            if (index >= 0 && index < batch.size() && result.isObject()) {
+                batch.get(index).result().complete(result);
+            }
+        }
+    }
+
+    /**
+     * Each message is written as a JSON string literal, so quotes and newlines in user text cannot break
+     * the one-message-per-line numbering
+     */
+    private String buildBatchPrompt(List<Pending> batch) throws JsonProcessingException {
+        StringBuilder prompt = new StringBuilder(BATCH_PROMPT_HEADER);
+        for (int i = 0; i < batch.size(); i++) {
+            prompt.append(i + 1).append(". ").append(objectMapper.writeValueAsString(batch.get(i).message())).append('\n');
+        }
+        return prompt.append(BATCH_PROMPT_FOOTER).toString();
+    }
+}
@@ -0,0 +1,188 @@
+package com.pyrem.leetcodebot.nlp;
+
+import com.pyrem.leetcodebot.model.CompanyProblemRequest;
+import com.pyrem.leetcodebot.model.ParsedRequestEntry;
+import com.pyrem.leetcodebot.model.TimeRange;
+import com.pyrem.leetcodebot.repository.ParsedRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Memoizing cache of parsed requests keyed by normalized message text
+ * Bounded LRU with a TTL, optionally backed by the parsed_request_cache table so entries survive restarts
+ */
+@Component
+@Slf4j
+public class ParsedRequestCache {
+
+    private static final int MAX_KEY_LENGTH = 500;
+
+    private record Entry(List<String> companies, TimeRange timeRange, boolean explicitTimeRange,
+                         LocalDateTime createdAt) {
+    }
+
+    private final ParsedRequestRepository parsedRequestRepository;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    @Value("${nlp.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${nlp.cache.max.entries:5000}")
+    private int maxEntries;
+
+    @Value("${nlp.cache.ttl.hours:168}")
+    private long ttlHours;
+
+    @Value("${nlp.cache.persistent:false}")
+    private boolean persistent;
+
+    public ParsedRequestCache(ParsedRequestRepository parsedRequestRepository, MeterRegistry meterRegistry) {
+        this.parsedRequestRepository = parsedRequestRepository;
+        this.memoryHits = meterRegistry.counter("nlp.cache.hits", "source", "memory");
+        this.databaseHits = meterRegistry.counter("nlp.cache.hits", "source", "database");
+        this.misses = meterRegistry.counter("nlp.cache.misses");
+    }
+
+    /**
+     * Normalize a message into a cache key: case-folded, punctuation stripped, whitespace collapsed
+     * '+' is kept, since "6+ months" and "6 months" ask for different time ranges
+     *
+     * @return the key, or null if the message is too long to be worth caching
+     */
+    public static String normalizeMessage(String message) {
+        StringBuilder key = new StringBuilder(message.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < message.length(); i++) {
+            char c = Character.toLowerCase(message.charAt(i));
+            if (Character.isLetterOrDigit(c) || c == '+') {
+                if (pendingSpace && !key.isEmpty()) {
+                    key.append(' ');
+                }
+                key.append(c);
+                pendingSpace = false;
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+            }
+        }
+
+        return key.length() <= MAX_KEY_LENGTH ? key.toString() : null;
+    }
+
+    /**
+     * Look up a previously parsed request for this message
+     */
+    public Optional<CompanyProblemRequest> get(String message) {
+        String key = enabled ? normalizeMessage(message) : null;
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null && isExpired(entry)) {
+            synchronized (this) {
+                entries.remove(key);
+            }
+            entry = null;
+        }
+
+        if (entry != null) {
+            memoryHits.increment();
+            return Optional.of(toRequest(entry));
+        }
+
+        if (persistent) {
+            entry = parsedRequestRepository.findById(key).map(this::toEntry).orElse(null);
+            if (entry != null && !isExpired(entry)) {
+                synchronized (this) {
+                    entries.put(key, entry);
+                }
+                databaseHits.increment();
+                return Optional.of(toRequest(entry));
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Remember the parsed request for this message
+     */
+    public void put(String message, CompanyProblemRequest request) {
+        String key = enabled ? normalizeMessage(message) : null;
+        if (key == null) {
+            return;
+        }
+
+        List<String> companies = request.getCompanies() != null ? List.copyOf(request.getCompanies()) : List.of();
+        Entry entry = new Entry(companies, request.getTimeRange(), request.isExplicitTimeRange(), LocalDateTime.now());
+
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+
+        if (persistent) {
+            try {
+                parsedRequestRepository.save(ParsedRequestEntry.builder()
+                    .normalizedMessage(key)
+                    .companies(String.join(",", companies))
+                    .timeRange(entry.timeRange() != null ? entry.timeRange().getKey() : null)
+                    .explicitTimeRange(entry.explicitTimeRange())
+                    .createdAt(entry.createdAt())
+                    .build());
+            } catch (Exception e) {
+                log.warn("Failed to persist parsed request for '{}': {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.createdAt().plusHours(ttlHours).isBefore(LocalDateTime.now());
+    }
+
+    private Entry toEntry(ParsedRequestEntry stored) {
+        List<String> companies = stored.getCompanies().isEmpty()
+            ? List.of()
+            : Arrays.asList(stored.getCompanies().split(","));
+        TimeRange timeRange = stored.getTimeRange() != null ? TimeRange.fromString(stored.getTimeRange()) : null;
+
+        return new Entry(List.copyOf(companies), timeRange, stored.isExplicitTimeRange(), stored.getCreatedAt());
+    }
+
+    /**
+     * Requests are mutable, so every hit gets its own copy
+     */
+    private CompanyProblemRequest toRequest(Entry entry) {
+        return CompanyProblemRequest.builder()
+            .companies(new ArrayList<>(entry.companies()))
+            .timeRange(entry.timeRange())
+            .explicitTimeRange(entry.explicitTimeRange())
+            .build();
+    }
+}
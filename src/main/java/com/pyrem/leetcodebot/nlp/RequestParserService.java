@@ -1,20 +1,18 @@
 package com.pyrem.leetcodebot.nlp;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pyrem.leetcodebot.model.CompanyProblemRequest;
 import com.pyrem.leetcodebot.model.TimeRange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for parsing natural language Discord messages into structured CompanyProblemRequest objects
@@ -25,10 +23,27 @@ import java.util.Map;
 @Slf4j
 public class RequestParserService {
 
-    private final ChatClient.Builder chatClientBuilder;
+    private final JsonCompletionClient jsonCompletionClient;
     private final ObjectMapper objectMapper;
+    private final RuleBasedRequestParser ruleBasedRequestParser;
+    private final ParsedRequestCache parsedRequestCache;
+    private final LlmRequestBatcher llmRequestBatcher;
+    private final LlmCircuitBreaker llmCircuitBreaker;
+    private final CompanyDictionary companyDictionary;
 
-    private static final String PARSING_PROMPT = """
+    @Value("${nlp.fastpath.enabled:true}")
+    private boolean fastPathEnabled;
+
+    /**
+     * Latency budget of one LLM call; a batched caller waits at most this long plus the batch window
+     */
+    @Value("${nlp.llm.timeout.seconds:10}")
+    private long llmTimeoutSeconds;
+
+    @Value("${nlp.batch.window.ms:5}")
+    private long batchWindowMillis;
+
+    static final String PARSING_PROMPT = """
         You are a helpful assistant that extracts structured information from user requests about LeetCode problems.
 
         Extract the following information from the user's message:
@@ -57,46 +72,87 @@ public class RequestParserService {
         - "Amazon and Meta 6 months" -> {{"companies": ["Amazon", "Meta"], "timeRange": "last6months", "explicitTimeRange": true}}
         """;
 
+    private static final String MESSAGE_PLACEHOLDER = "{message}";
+
+    /**
+     * Prompt template compiled once: literal braces unescaped and split around the message placeholder
+     */
+    private static final String PROMPT_PREFIX;
+    private static final String PROMPT_SUFFIX;
+
+    static {
+        String template = PARSING_PROMPT.replace("{{", "{").replace("}}", "}");
+        int placeholder = template.indexOf(MESSAGE_PLACEHOLDER);
+        PROMPT_PREFIX = template.substring(0, placeholder);
+        PROMPT_SUFFIX = template.substring(placeholder + MESSAGE_PLACEHOLDER.length());
+    }
+
     /**
      * Parse a natural language message into a structured CompanyProblemRequest
      */
     public CompanyProblemRequest parseRequest(String message) {
         log.info("Parsing request: {}", message);
 
-        try {
-            // Create chat client
-            ChatClient chatClient = chatClientBuilder.build();
+        // Common phrasings are resolved by the rule-based grammar without calling the LLM
+        if (fastPathEnabled) {
+            Optional<CompanyProblemRequest> fastPath = ruleBasedRequestParser.tryParse(message);
+            if (fastPath.isPresent()) {
+                return fastPath.get();
+            }
+        }
 
-            // Create prompt
-            PromptTemplate promptTemplate = new PromptTemplate(PARSING_PROMPT);
-            Prompt prompt = promptTemplate.create(Map.of("message", message));
+        // Repeated phrasings the grammar could not handle are answered from the parsed request cache
+        // (checked only now, since a persistent cache miss costs a database round trip)
+        Optional<CompanyProblemRequest> cached = parsedRequestCache.get(message);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-            // Call Ollama via Spring AI
-            String response = chatClient.prompt(prompt)
-                .call()
-                .content();
+        // Skip the LLM entirely while the model host is considered down
+        if (llmCircuitBreaker.isRejecting()) {
+            return fallbackParsing(message);
+        }
 
-            log.debug("LLM Response: {}", response);
+        try {
+            // Call Ollama, batched with other concurrent messages if enabled
+            JsonNode node = llmRequestBatcher.isEnabled()
+                ? llmRequestBatcher.submit(message)
+                    .orTimeout(TimeUnit.SECONDS.toMillis(llmTimeoutSeconds) + batchWindowMillis, TimeUnit.MILLISECONDS)
+                    .join()
+                : objectMapper.readTree(jsonCompletionClient.complete(buildPrompt(message),
+                    StreamingJsonExtractor.forObject()));
 
             // Parse JSON response
-            return parseJsonResponse(response);
+            CompanyProblemRequest request = parseJsonResponse(node);
+            parsedRequestCache.put(message, request);
+            return request;
 
         } catch (Exception e) {
-            log.error("Error parsing request with LLM: {}", e.getMessage(), e);
+            if (e instanceof LlmCircuitBreaker.OpenException || e.getCause() instanceof LlmCircuitBreaker.OpenException) {
+                log.debug("LLM circuit breaker open, using fallback parsing");
+            } else {
+                log.error("Error parsing request with LLM: {}", e.getMessage(), e);
+            }
             // Fallback to simple parsing
             return fallbackParsing(message);
         }
     }
 
     /**
-     * Parse the JSON response from the LLM
+     * Fill the pre-compiled prompt template with the user message
      */
-    private CompanyProblemRequest parseJsonResponse(String jsonResponse) throws JsonProcessingException {
-        // Extract JSON from response (LLM might include extra text)
-        String cleanJson = extractJson(jsonResponse);
-
-        JsonNode node = objectMapper.readTree(cleanJson);
+    static String buildPrompt(String message) {
+        return new StringBuilder(PROMPT_PREFIX.length() + message.length() + PROMPT_SUFFIX.length())
+            .append(PROMPT_PREFIX)
+            .append(message)
+            .append(PROMPT_SUFFIX)
+            .toString();
+    }
 
+    /**
+     * Parse the JSON object extracted from the LLM response
+     */
+    private CompanyProblemRequest parseJsonResponse(JsonNode node) {
         List<String> companies = new ArrayList<>();
         if (node.has("companies") && node.get("companies").isArray()) {
             node.get("companies").forEach(c -> companies.add(c.asText()));
@@ -120,26 +176,6 @@ public class RequestParserService {
             .build();
     }
 
-    /**
-     * Extract JSON from LLM response (removes markdown code blocks, etc.)
-     */
-    private String extractJson(String response) {
-        // Remove markdown code blocks
-        String cleaned = response.replaceAll("```json\\s*", "")
-            .replaceAll("```\\s*", "")
-            .trim();
-
-        // Find JSON object boundaries
-        int startIdx = cleaned.indexOf('{');
-        int endIdx = cleaned.lastIndexOf('}');
-
-        if (startIdx >= 0 && endIdx > startIdx) {
-            return cleaned.substring(startIdx, endIdx + 1);
-        }
-
-        return cleaned;
-    }
-
     /**
      * Fallback parsing using simple string matching when LLM fails
      */
@@ -158,27 +194,10 @@ public class RequestParserService {
     }
 
     /**
-     * Simple company extraction using keyword matching
+     * Company extraction in one pass over the message using the company dictionary
      */
     private List<String> extractCompaniesSimple(String message) {
-        List<String> companies = new ArrayList<>();
-        String lower = message.toLowerCase();
-
-        // Common company names
-        String[] companyNames = {
-            "Microsoft", "Google", "Amazon", "Meta", "Facebook",
-            "Apple", "Netflix", "Tesla", "Uber", "Lyft",
-            "Airbnb", "LinkedIn", "Twitter", "Snapchat", "Adobe",
-            "Oracle", "Salesforce", "IBM", "Intel", "Nvidia"
-        };
-
-        for (String company : companyNames) {
-            if (lower.contains(company.toLowerCase())) {
-                companies.add(company);
-            }
-        }
-
-        return companies;
+        return companyDictionary.findCompanies(message);
     }
 
     /**
@@ -0,0 +1,189 @@
+package com.pyrem.leetcodebot.nlp;
+
+import com.pyrem.leetcodebot.model.CompanyProblemRequest;
+import com.pyrem.leetcodebot.model.TimeRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic fast-path parser for the common request grammar
+ * (company names and aliases, "and"/comma lists, time-range phrases)
+ * Reports a confidence score so only ambiguous messages need to go to the LLM
+ */
+@Component
+@Slf4j
+public class RuleBasedRequestParser {
+
+    /**
+     * Parsed request plus the share of the message the grammar could account for (0.0 to 1.0)
+     */
+    public record Result(CompanyProblemRequest request, double confidence) {
+    }
+
+    private static final int MAX_COMPANY_WORDS = 3;
+
+    private static final Pattern TOKEN = Pattern.compile("[a-z0-9]+");
+
+    /**
+     * Time-range phrases, checked in order (more specific phrases first)
+     */
+    private static final List<Map.Entry<Pattern, TimeRange>> TIME_RANGE_PATTERNS = List.of(
+        Map.entry(Pattern.compile(
+            "\\b(?:more than|over|older than|beyond)\\s+(?:6|six)\\s*(?:months?|mo)\\b"
+                + "|\\b(?:6|six)\\s*\\+\\s*(?:months?|mo)\\b"),
+            TimeRange.MORE_THAN_6_MONTHS),
+        Map.entry(Pattern.compile(
+            "\\b(?:6|six)\\s*(?:months?|mo)\\b|\\b180\\s*(?:days?|d)\\b|\\bhalf\\s+(?:a\\s+)?year\\b"),
+            TimeRange.LAST_6_MONTHS),
+        Map.entry(Pattern.compile(
+            "\\b(?:3|three)\\s*(?:months?|mo)\\b|\\b90\\s*(?:days?|d)\\b|\\bquarter\\b"),
+            TimeRange.LAST_3_MONTHS),
+        Map.entry(Pattern.compile(
+            "\\b30\\s*(?:days?|d)\\b|\\b(?:1|one|a|last|past|this)\\s+month\\b"),
+            TimeRange.LAST_30_DAYS),
+        Map.entry(Pattern.compile(
+            "\\ball\\s*-?\\s*time\\b|\\bever\\b|\\ball\\b"),
+            TimeRange.ALL)
+    );
+
+    /**
+     * Words that carry no information beyond "this is a request"
+     */
+    private static final Set<String> FILLER_WORDS = Set.of(
+        "and", "or", "plus", "also", "the", "a", "an", "me", "my", "show", "give", "get", "list", "send",
+        "please", "pls", "plz", "what", "about", "any", "some", "top", "most", "recent", "frequent",
+        "leetcode", "lc", "problem", "problems", "question", "questions", "asked", "by", "at", "from",
+        "for", "in", "of", "last", "past", "interview", "interviews", "set", "sets", "days", "months"
+    );
+
+    private final CompanyDictionary companyDictionary;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final DistributionSummary confidenceSummary;
+
+    @Value("${nlp.fastpath.min.confidence:0.8}")
+    private double minConfidence;
+
+    public RuleBasedRequestParser(CompanyDictionary companyDictionary, MeterRegistry meterRegistry) {
+        this.companyDictionary = companyDictionary;
+        this.hitCounter = meterRegistry.counter("nlp.fastpath.hits");
+        this.missCounter = meterRegistry.counter("nlp.fastpath.misses");
+        this.confidenceSummary = DistributionSummary.builder("nlp.fastpath.confidence")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Parse the message if the grammar accounts for it with enough confidence
+     *
+     * @return the parsed request, or empty if the message should go to the LLM
+     */
+    public Optional<CompanyProblemRequest> tryParse(String message) {
+        Result result = parse(message);
+        confidenceSummary.record(result.confidence());
+
+        if (result.confidence() >= minConfidence) {
+            hitCounter.increment();
+            log.debug("Fast-path parsed '{}' with confidence {}", message, result.confidence());
+            return Optional.of(result.request());
+        }
+
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Parse the message with the rule-based grammar
+     */
+    public Result parse(String message) {
+        StringBuilder remaining = new StringBuilder(message.toLowerCase(Locale.ROOT));
+
+        // Time range phrases first, blanking them out so their words are not read as companies
+        TimeRange timeRange = null;
+        int timeRangeTokens = 0;
+        for (Map.Entry<Pattern, TimeRange> entry : TIME_RANGE_PATTERNS) {
+            Matcher matcher = entry.getKey().matcher(remaining);
+            if (matcher.find()) {
+                if (timeRange == null) {
+                    timeRange = entry.getValue();
+                }
+                timeRangeTokens += countTokens(matcher.group());
+                for (int i = matcher.start(); i < matcher.end(); i++) {
+                    remaining.setCharAt(i, ' ');
+                }
+            }
+        }
+
+        List<String> tokens = new ArrayList<>();
+        Matcher tokenMatcher = TOKEN.matcher(remaining);
+        while (tokenMatcher.find()) {
+            tokens.add(tokenMatcher.group());
+        }
+
+        Set<String> found = new LinkedHashSet<>();
+        int knownTokens = timeRangeTokens;
+        int unknownTokens = 0;
+
+        for (int i = 0; i < tokens.size(); ) {
+            int matched = matchCompany(tokens, i, found);
+            if (matched > 0) {
+                knownTokens += matched;
+                i += matched;
+                continue;
+            }
+
+            if (FILLER_WORDS.contains(tokens.get(i))) {
+                knownTokens++;
+            } else {
+                unknownTokens++;
+            }
+            i++;
+        }
+
+        CompanyProblemRequest request = CompanyProblemRequest.builder()
+            .companies(new ArrayList<>(found))
+            .timeRange(timeRange)
+            .explicitTimeRange(timeRange != null)
+            .build();
+
+        double confidence = found.isEmpty() ? 0.0 : (double) knownTokens / (knownTokens + unknownTokens);
+        return new Result(request, confidence);
+    }
+
+    /**
+     * Match the longest company name or alias starting at the given token
+     *
+     * @return number of tokens consumed, 0 if no company starts here
+     */
+    private int matchCompany(List<String> tokens, int start, Set<String> found) {
+        int maxWords = Math.min(MAX_COMPANY_WORDS, tokens.size() - start);
+
+        for (int words = maxWords; words >= 1; words--) {
+            String phrase = String.join(" ", tokens.subList(start, start + words));
+            String company = companyDictionary.lookup(phrase);
+            if (company != null) {
+                found.add(company);
+                return words;
+            }
+        }
+
+        return 0;
+    }
+
+    private static int countTokens(String text) {
+        return (int) TOKEN.matcher(text).results().count();
+    }
+}
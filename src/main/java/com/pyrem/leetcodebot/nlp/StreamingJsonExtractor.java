@@ -0,0 +1,98 @@
+package com.pyrem.leetcodebot.nlp;
+
+/**
+ * Incremental extractor for the first top-level JSON object (or array) in LLM output
+ * Skips any text before the value (markdown fences, chatter) and stops at the matching closing bracket,
+ * tracking string literals and escapes so braces inside strings are ignored. No regex, single pass.
+ */
+public class StreamingJsonExtractor {
+
+    private final char open;
+    private final char close;
+    private final StringBuilder json = new StringBuilder();
+
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private boolean complete;
+
+    private StreamingJsonExtractor(char open, char close) {
+        this.open = open;
+        this.close = close;
+    }
+
+    /**
+     * Extractor for the first top-level JSON object
+     */
+    public static StreamingJsonExtractor forObject() {
+        return new StreamingJsonExtractor('{', '}');
+    }
+
+    /**
+     * Extractor for the first top-level JSON array
+     */
+    public static StreamingJsonExtractor forArray() {
+        return new StreamingJsonExtractor('[', ']');
+    }
+
+    /**
+     * Extract the first complete JSON object from a full response
+     *
+     * @return the JSON text, or null if the response contains no complete object
+     */
+    public static String extract(String response) {
+        StreamingJsonExtractor extractor = forObject();
+        extractor.feed(response);
+        return extractor.getJson();
+    }
+
+    /**
+     * Feed the next chunk of output
+     *
+     * @return true once the top-level value has been closed
+     */
+    public boolean feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && !complete; i++) {
+            char c = chunk.charAt(i);
+
+            if (depth == 0) {
+                if (c == open) {
+                    depth = 1;
+                    json.append(c);
+                }
+                continue;
+            }
+
+            json.append(c);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == open) {
+                depth++;
+            } else if (c == close && --depth == 0) {
+                complete = true;
+            }
+        }
+
+        return complete;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * The extracted JSON text, or null if the value is not complete yet
+     */
+    public String getJson() {
+        return complete ? json.toString() : null;
+    }
+}
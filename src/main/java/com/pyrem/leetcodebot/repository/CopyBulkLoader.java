@@ -0,0 +1,172 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk load path for large problem sets using the PostgreSQL COPY protocol
+ * Rows are streamed as CSV into the transaction's problem_staging temp table, from which each store
+ * merges into its own tables with set-based SQL. Sets below the row threshold (or non-PostgreSQL
+ * connections) keep using the JDBC batch path.
+ * Opt-in (leetcode.storage.copy.enabled, off by default): stored sets are capped at leetcode.problemset.max.size,
+ * so COPY only runs once that cap is raised to at least the threshold; below it batched INSERTs are faster
+ * than setting up the staging table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CopyBulkLoader {
+
+    /**
+     * Session-local staging table, emptied at every commit and reused by later transactions on the connection
+     */
+    static final String STAGING_TABLE = "problem_staging";
+
+    private static final int FLUSH_BYTES = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${leetcode.storage.copy.enabled:false}")
+    private boolean enabled;
+
+    @Value("${leetcode.storage.copy.threshold.rows:1000}")
+    private int thresholdRows;
+
+    @Value("${leetcode.problemset.max.size:50}")
+    private int maxProblemSetSize;
+
+    @PostConstruct
+    public void initialize() {
+        if (enabled && maxProblemSetSize < thresholdRows) {
+            log.warn("COPY bulk load enabled but inactive: problem sets are capped at {} rows, below the {} row threshold",
+                maxProblemSetSize, thresholdRows);
+        }
+    }
+
+    /**
+     * Whether a set of this size should go through COPY instead of batched INSERTs
+     */
+    public boolean isApplicable(int rows) {
+        return enabled && rows >= thresholdRows;
+    }
+
+    /**
+     * Replace the contents of problem_staging with the given problems (last occurrence of a problem number wins)
+     * Must run inside a transaction: the staging table is cleared on commit.
+     *
+     * @return false if the connection does not support COPY and nothing was staged
+     */
+    public boolean stage(List<LeetCodeProblem> problems) {
+        Collection<LeetCodeProblem> rows = ProblemSetDelta.latestByNumber(problems).values();
+
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return null;
+            }
+            prepareStagingTable(connection);
+            return copyRows(connection.unwrap(PGConnection.class), rows);
+        });
+
+        if (copied == null) {
+            log.warn("Connection does not support COPY, falling back to batched inserts");
+            return false;
+        }
+
+        log.info("Staged {} problems with COPY", copied);
+        return true;
+    }
+
+    private void prepareStagingTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                CREATE TEMP TABLE IF NOT EXISTS problem_staging (
+                    problem_number INTEGER PRIMARY KEY,
+                    problem_name VARCHAR(500) NOT NULL,
+                    acceptance_rate DOUBLE PRECISION,
+                    difficulty VARCHAR(20),
+                    frequency DOUBLE PRECISION,
+                    url VARCHAR(1000),
+                    content_hash BIGINT
+                ) ON COMMIT DELETE ROWS
+                """);
+            // Several sets may be staged in one transaction
+            statement.execute("TRUNCATE problem_staging");
+        }
+    }
+
+    /**
+     * Stream the rows as CSV in fixed-size chunks, so memory use does not grow with the set size
+     */
+    private long copyRows(PGConnection connection, Collection<LeetCodeProblem> rows) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn("""
+            COPY problem_staging (problem_number, problem_name, acceptance_rate, difficulty, frequency, url, content_hash)
+            FROM STDIN WITH (FORMAT csv)
+            """);
+
+        try {
+            StringBuilder chunk = new StringBuilder(FLUSH_BYTES + 1024);
+            for (LeetCodeProblem problem : rows) {
+                chunk.append(problem.getProblemNumber()).append(',');
+                appendQuoted(chunk, problem.getProblemName()).append(',');
+                appendNullable(chunk, problem.getAcceptanceRate()).append(',');
+                appendQuoted(chunk, problem.getDifficulty() != null ? problem.getDifficulty().name() : null).append(',');
+                appendNullable(chunk, problem.getFrequency()).append(',');
+                appendQuoted(chunk, problem.getUrl()).append(',');
+                chunk.append(ProblemSetDelta.contentHash(problem)).append('\n');
+
+                if (chunk.length() >= FLUSH_BYTES) {
+                    write(copyIn, chunk);
+                }
+            }
+            write(copyIn, chunk);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    /**
+     * CSV field in quotes with embedded quotes doubled; null is written as an empty unquoted field (NULL)
+     */
+    private static StringBuilder appendQuoted(StringBuilder chunk, String value) {
+        if (value == null) {
+            return chunk;
+        }
+        chunk.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                chunk.append('"');
+            }
+            chunk.append(c);
+        }
+        return chunk.append('"');
+    }
+
+    private static StringBuilder appendNullable(StringBuilder chunk, Double value) {
+        return value != null ? chunk.append(value.doubleValue()) : chunk;
+    }
+}
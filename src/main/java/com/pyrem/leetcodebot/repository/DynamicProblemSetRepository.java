@@ -1,9 +1,12 @@
 package com.pyrem.leetcodebot.repository;
 
+import com.pyrem.leetcodebot.model.CompanyProblemRequest;
 import com.pyrem.leetcodebot.model.LeetCodeProblem;
 import com.pyrem.leetcodebot.model.ProblemDifficulty;
+import com.pyrem.leetcodebot.model.TimeRange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -11,17 +14,58 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Repository for dynamically creating and managing company-specific problem set tables
+ * This is the default "table" storage mode (one table per company-timerange combination)
  */
 @Repository
 @RequiredArgsConstructor
 @Slf4j
-public class DynamicProblemSetRepository {
+public class DynamicProblemSetRepository implements ProblemSetStore {
 
     private final JdbcTemplate jdbcTemplate;
+    private final CopyBulkLoader copyBulkLoader;
+    private final ProblemSetRegistry problemSetRegistry;
+
+    /**
+     * Write only the rows that changed instead of clearing and re-inserting the whole table
+     */
+    @Value("${leetcode.storage.delta.sync:true}")
+    private boolean deltaSync;
+
+    /**
+     * Tables known to have the content_hash column (tables created before delta sync get it on first write)
+     */
+    private final Set<String> hashedTables = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void prepare(String companyName, TimeRange timeRange) {
+        String tableName = CompanyProblemRequest.getTableName(companyName, timeRange);
+        if (!problemSetRegistry.tableExists(tableName)) {
+            createProblemSetTable(tableName);
+        }
+    }
+
+    @Override
+    public void saveProblems(String companyName, TimeRange timeRange, List<LeetCodeProblem> problems) {
+        saveProblems(CompanyProblemRequest.getTableName(companyName, timeRange), problems);
+    }
+
+    @Override
+    public List<LeetCodeProblem> findAllProblems(String companyName, TimeRange timeRange) {
+        return findAllProblems(CompanyProblemRequest.getTableName(companyName, timeRange));
+    }
+
+    @Override
+    public void deleteProblems(String companyName, TimeRange timeRange) {
+        dropTable(CompanyProblemRequest.getTableName(companyName, timeRange));
+    }
 
     /**
      * Create a new table for storing problems for a specific company and time range
@@ -39,12 +83,15 @@ public class DynamicProblemSetRepository {
                 difficulty VARCHAR(20),
                 frequency DOUBLE PRECISION,
                 url VARCHAR(1000),
+                content_hash BIGINT,
                 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                 UNIQUE(problem_number)
             )
             """, tableName);
 
         jdbcTemplate.execute(sql);
+        hashedTables.add(tableName);
+        problemSetRegistry.tableCreated(tableName);
         log.info("Successfully created table: {}", tableName);
     }
 
@@ -53,6 +100,19 @@ public class DynamicProblemSetRepository {
      */
     @Transactional
     public void saveProblems(String tableName, List<LeetCodeProblem> problems) {
+        if (copyBulkLoader.isApplicable(problems.size())) {
+            ensureContentHashColumn(tableName);
+            if (copyBulkLoader.stage(problems)) {
+                mergeStagedProblems(tableName);
+                return;
+            }
+        }
+
+        if (deltaSync) {
+            syncProblems(tableName, problems);
+            return;
+        }
+
         log.info("Saving {} problems to table: {}", problems.size(), tableName);
 
         // Clear existing data
@@ -84,6 +144,92 @@ public class DynamicProblemSetRepository {
         log.info("Successfully saved {} problems to {}", problems.size(), tableName);
     }
 
+    /**
+     * Bring a table in line with the given problems, writing only rows whose content hash differs
+     * A refresh that changes nothing only reads the stored hashes
+     */
+    @Transactional
+    public void syncProblems(String tableName, List<LeetCodeProblem> problems) {
+        ensureContentHashColumn(tableName);
+
+        Map<Integer, Long> storedHashes = new HashMap<>();
+        jdbcTemplate.query(String.format("SELECT problem_number, content_hash FROM %s", tableName),
+            rs -> {
+                storedHashes.put(rs.getInt("problem_number"), rs.getObject("content_hash", Long.class));
+            });
+
+        ProblemSetDelta delta = ProblemSetDelta.compute(storedHashes, problems);
+        if (delta.isEmpty()) {
+            log.info("Problem set unchanged, nothing to write to table: {}", tableName);
+            return;
+        }
+
+        if (delta.deletes().length > 0) {
+            jdbcTemplate.update(String.format("DELETE FROM %s WHERE problem_number = ANY(?)", tableName),
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", delta.deletes())));
+        }
+
+        String upsertSql = String.format("""
+            INSERT INTO %1$s (problem_number, problem_name, acceptance_rate, difficulty, frequency, url, content_hash)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (problem_number) DO UPDATE SET
+                problem_name = EXCLUDED.problem_name,
+                acceptance_rate = EXCLUDED.acceptance_rate,
+                difficulty = EXCLUDED.difficulty,
+                frequency = EXCLUDED.frequency,
+                url = EXCLUDED.url,
+                content_hash = EXCLUDED.content_hash
+            WHERE %1$s.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+            """, tableName);
+
+        jdbcTemplate.batchUpdate(upsertSql, delta.upserts(), delta.upserts().size(),
+            (ps, problem) -> {
+                ps.setInt(1, problem.getProblemNumber());
+                ps.setString(2, problem.getProblemName());
+                ps.setDouble(3, problem.getAcceptanceRate());
+                ps.setString(4, problem.getDifficulty().name());
+                ps.setDouble(5, problem.getFrequency());
+                ps.setString(6, problem.getUrl());
+                ps.setLong(7, ProblemSetDelta.contentHash(problem));
+            });
+
+        log.info("Synced table {}: {} rows upserted, {} rows deleted",
+            tableName, delta.upserts().size(), delta.deletes().length);
+    }
+
+    /**
+     * Merge the rows staged by the bulk loader into a table: drop rows missing from the staging table,
+     * then upsert rows whose content hash differs
+     */
+    private void mergeStagedProblems(String tableName) {
+        int deleted = jdbcTemplate.update(String.format("""
+            DELETE FROM %s t
+            WHERE NOT EXISTS (SELECT 1 FROM problem_staging s WHERE s.problem_number = t.problem_number)
+            """, tableName));
+
+        int upserted = jdbcTemplate.update(String.format("""
+            INSERT INTO %1$s (problem_number, problem_name, acceptance_rate, difficulty, frequency, url, content_hash)
+            SELECT problem_number, problem_name, acceptance_rate, difficulty, frequency, url, content_hash
+            FROM problem_staging
+            ON CONFLICT (problem_number) DO UPDATE SET
+                problem_name = EXCLUDED.problem_name,
+                acceptance_rate = EXCLUDED.acceptance_rate,
+                difficulty = EXCLUDED.difficulty,
+                frequency = EXCLUDED.frequency,
+                url = EXCLUDED.url,
+                content_hash = EXCLUDED.content_hash
+            WHERE %1$s.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+            """, tableName));
+
+        log.info("Merged staged problems into {}: {} rows upserted, {} rows deleted", tableName, upserted, deleted);
+    }
+
+    private void ensureContentHashColumn(String tableName) {
+        if (hashedTables.add(tableName)) {
+            jdbcTemplate.execute(String.format("ALTER TABLE %s ADD COLUMN IF NOT EXISTS content_hash BIGINT", tableName));
+        }
+    }
+
     /**
      * Retrieve all problems from a specific table, ordered by frequency (descending)
      */
@@ -110,6 +256,7 @@ public class DynamicProblemSetRepository {
 
     /**
      * Check if a table exists in the database
+     * Queries information_schema; the request path uses ProblemSetRegistry.tableExists instead
      */
     public boolean tableExists(String tableName) {
         String sql = """
@@ -130,6 +277,8 @@ public class DynamicProblemSetRepository {
     @Transactional
     public void dropTable(String tableName) {
         log.warn("Dropping table: {}", tableName);
+        hashedTables.remove(tableName);
+        problemSetRegistry.tableDropped(tableName);
         String sql = String.format("DROP TABLE IF EXISTS %s", tableName);
         jdbcTemplate.execute(sql);
     }
@@ -137,7 +286,7 @@ public class DynamicProblemSetRepository {
     /**
      * Row mapper for converting database rows to LeetCodeProblem objects
      */
-    private static class ProblemRowMapper implements RowMapper<LeetCodeProblem> {
+    static class ProblemRowMapper implements RowMapper<LeetCodeProblem> {
         @Override
         public LeetCodeProblem mapRow(ResultSet rs, int rowNum) throws SQLException {
             return LeetCodeProblem.builder()
@@ -0,0 +1,100 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.CachedProblemSet;
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import com.pyrem.leetcodebot.model.TimeRange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through to the legacy per-company tables for the shared-table problem stores, plus the advisory lock
+ * their writers take per problem set
+ * A store registers the cached sets it does not hold yet at startup, serves them from their legacy table
+ * until it writes the set itself, and then forgets the table.
+ */
+@Component
+@RequiredArgsConstructor
+public class LegacyProblemSetTables {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DynamicProblemSetRepository dynamicProblemSetRepository;
+    private final ProblemSetRegistry problemSetRegistry;
+
+    /**
+     * Legacy tables that may still hold the authoritative copy of a problem set, found at startup
+     * Only read after ProblemSetRegistry confirms the table still exists
+     */
+    private final Map<ProblemSetKey, String> legacyTables = new ConcurrentHashMap<>();
+
+    /**
+     * Register the cached problem sets whose legacy table still exists and that the store does not hold yet
+     *
+     * @param storedSetsQuery query returning the distinct (company, time_range) pairs already in the store
+     * @return the number of problem sets served from legacy tables
+     */
+    public int register(String storedSetsQuery) {
+        Set<ProblemSetKey> stored = Set.copyOf(jdbcTemplate.query(storedSetsQuery,
+            (rs, rowNum) -> new ProblemSetKey(rs.getString("company"), TimeRange.fromString(rs.getString("time_range")))));
+
+        for (CachedProblemSet cached : problemSetRegistry.findAll()) {
+            ProblemSetKey key = new ProblemSetKey(cached.getCompanyName(), TimeRange.fromString(cached.getTimeRange()));
+            if (!stored.contains(key) && problemSetRegistry.tableExists(cached.getTableName())) {
+                legacyTables.put(key, cached.getTableName());
+            }
+        }
+
+        return legacyTables.size();
+    }
+
+    /**
+     * Legacy table that still holds a problem set, or null once it is gone
+     * The registry is the source of truth for table existence; entries for tables dropped since startup
+     * (by the migration or by another instance) are forgotten
+     */
+    public String find(ProblemSetKey key) {
+        String legacyTable = legacyTables.get(key);
+        if (legacyTable != null && !problemSetRegistry.tableExists(legacyTable)) {
+            legacyTables.remove(key, legacyTable);
+            return null;
+        }
+        return legacyTable;
+    }
+
+    /**
+     * Stop reading through once the current transaction commits, after the store has written the set itself
+     */
+    public void forgetAfterCommit(ProblemSetKey key) {
+        AfterCommit.run(() -> legacyTables.remove(key));
+    }
+
+    /**
+     * Drop the legacy table of a deleted problem set, if it still has one (caller holds the problem set lock)
+     */
+    public void drop(ProblemSetKey key) {
+        String legacyTable = find(key);
+        legacyTables.remove(key);
+        if (legacyTable != null) {
+            dynamicProblemSetRepository.dropTable(legacyTable);
+        }
+    }
+
+    /**
+     * Problem sets still served from their legacy tables
+     */
+    public Set<ProblemSetKey> pending() {
+        return Set.copyOf(legacyTables.keySet());
+    }
+
+    /**
+     * Serialize writers of the same problem set (across bot instances) for the current transaction
+     */
+    public void lock(String companyName, TimeRange timeRange) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> { },
+            companyName + "_" + timeRange.getKey());
+    }
+}
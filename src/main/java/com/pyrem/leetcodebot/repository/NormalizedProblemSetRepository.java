@@ -0,0 +1,225 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import com.pyrem.leetcodebot.model.TimeRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Normalized problem set storage: problem metadata is stored once in a global problems table keyed by
+ * problem_number, and each company/time-range set only stores thin (problem_number, frequency) rows
+ * Writes are delta-synced, so a problem shared by many sets is only rewritten when its metadata changes.
+ * Legacy per-company tables are served read-through until the set is next written.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "leetcode.storage.mode", havingValue = "normalized")
+@RequiredArgsConstructor
+@Slf4j
+public class NormalizedProblemSetRepository implements ProblemSetStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DynamicProblemSetRepository dynamicProblemSetRepository;
+    private final LegacyProblemSetTables legacyProblemSetTables;
+    private final CopyBulkLoader copyBulkLoader;
+
+    @PostConstruct
+    public void initialize() {
+        log.info("Initializing normalized problem store");
+
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS problems (
+                problem_number INTEGER PRIMARY KEY,
+                problem_name VARCHAR(500) NOT NULL,
+                acceptance_rate DOUBLE PRECISION,
+                difficulty VARCHAR(20),
+                url VARCHAR(1000),
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+            """);
+
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS problem_frequencies (
+                company VARCHAR(255) NOT NULL,
+                time_range VARCHAR(32) NOT NULL,
+                problem_number INTEGER NOT NULL REFERENCES problems (problem_number),
+                frequency DOUBLE PRECISION,
+                content_hash BIGINT,
+                PRIMARY KEY (company, time_range, problem_number)
+            )
+            """);
+
+        // A problem set is read in frequency order with one index scan plus primary key lookups into problems
+        jdbcTemplate.execute("""
+            CREATE INDEX IF NOT EXISTS problem_frequencies_frequency_idx
+            ON problem_frequencies (company, time_range, frequency DESC, problem_number)
+            """);
+
+        int legacy = legacyProblemSetTables.register("SELECT DISTINCT company, time_range FROM problem_frequencies");
+        log.info("Found {} problem sets still stored in per-company tables", legacy);
+    }
+
+    @Override
+    public void prepare(String companyName, TimeRange timeRange) {
+        // Schema is created once at startup
+    }
+
+    @Override
+    @Transactional
+    public void saveProblems(String companyName, TimeRange timeRange, List<LeetCodeProblem> problems) {
+        log.info("Saving {} problems for {} {}", problems.size(), companyName, timeRange.getKey());
+
+        legacyProblemSetTables.lock(companyName, timeRange);
+        legacyProblemSetTables.forgetAfterCommit(new ProblemSetKey(companyName, timeRange));
+
+        if (copyBulkLoader.isApplicable(problems.size()) && copyBulkLoader.stage(problems)) {
+            mergeStagedProblems(companyName, timeRange);
+            return;
+        }
+
+        Map<Integer, Long> storedHashes = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT problem_number, content_hash FROM problem_frequencies WHERE company = ? AND time_range = ?",
+            rs -> {
+                storedHashes.put(rs.getInt("problem_number"), rs.getObject("content_hash", Long.class));
+            }, companyName, timeRange.getKey());
+
+        ProblemSetDelta delta = ProblemSetDelta.compute(storedHashes, problems);
+        if (delta.isEmpty()) {
+            log.info("Problem set {} {} unchanged, nothing to write", companyName, timeRange.getKey());
+            return;
+        }
+
+        // Shared metadata first (rows referenced by the frequency rows), rewritten only if it actually changed.
+        // Written in problem number order so concurrent writers of overlapping sets lock rows in the same order
+        List<LeetCodeProblem> metadata = delta.upserts().stream()
+            .sorted(Comparator.comparing(LeetCodeProblem::getProblemNumber))
+            .toList();
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO problems (problem_number, problem_name, acceptance_rate, difficulty, url)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (problem_number) DO UPDATE SET
+                problem_name = EXCLUDED.problem_name,
+                acceptance_rate = EXCLUDED.acceptance_rate,
+                difficulty = EXCLUDED.difficulty,
+                url = EXCLUDED.url,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE (problems.problem_name, problems.acceptance_rate, problems.difficulty, problems.url)
+                IS DISTINCT FROM (EXCLUDED.problem_name, EXCLUDED.acceptance_rate, EXCLUDED.difficulty, EXCLUDED.url)
+            """, metadata, metadata.size(),
+            (ps, problem) -> {
+                ps.setInt(1, problem.getProblemNumber());
+                ps.setString(2, problem.getProblemName());
+                ps.setDouble(3, problem.getAcceptanceRate());
+                ps.setString(4, problem.getDifficulty().name());
+                ps.setString(5, problem.getUrl());
+            });
+
+        if (delta.deletes().length > 0) {
+            jdbcTemplate.update(
+                "DELETE FROM problem_frequencies WHERE company = ? AND time_range = ? AND problem_number = ANY(?)",
+                ps -> {
+                    ps.setString(1, companyName);
+                    ps.setString(2, timeRange.getKey());
+                    ps.setArray(3, ps.getConnection().createArrayOf("integer", delta.deletes()));
+                });
+        }
+
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO problem_frequencies (company, time_range, problem_number, frequency, content_hash)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (company, time_range, problem_number) DO UPDATE SET
+                frequency = EXCLUDED.frequency,
+                content_hash = EXCLUDED.content_hash
+            WHERE problem_frequencies.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+            """, delta.upserts(), delta.upserts().size(),
+            (ps, problem) -> {
+                ps.setString(1, companyName);
+                ps.setString(2, timeRange.getKey());
+                ps.setInt(3, problem.getProblemNumber());
+                ps.setDouble(4, problem.getFrequency());
+                ps.setLong(5, ProblemSetDelta.contentHash(problem));
+            });
+
+        log.info("Synced {} {}: {} rows upserted, {} rows deleted",
+            companyName, timeRange.getKey(), delta.upserts().size(), delta.deletes().length);
+    }
+
+    /**
+     * Merge the rows staged by the bulk loader into the shared metadata and the set's frequency rows
+     */
+    private void mergeStagedProblems(String companyName, TimeRange timeRange) {
+        jdbcTemplate.update("""
+            INSERT INTO problems (problem_number, problem_name, acceptance_rate, difficulty, url)
+            SELECT problem_number, problem_name, acceptance_rate, difficulty, url
+            FROM problem_staging
+            ORDER BY problem_number
+            ON CONFLICT (problem_number) DO UPDATE SET
+                problem_name = EXCLUDED.problem_name,
+                acceptance_rate = EXCLUDED.acceptance_rate,
+                difficulty = EXCLUDED.difficulty,
+                url = EXCLUDED.url,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE (problems.problem_name, problems.acceptance_rate, problems.difficulty, problems.url)
+                IS DISTINCT FROM (EXCLUDED.problem_name, EXCLUDED.acceptance_rate, EXCLUDED.difficulty, EXCLUDED.url)
+            """);
+
+        int deleted = jdbcTemplate.update("""
+            DELETE FROM problem_frequencies f
+            WHERE f.company = ? AND f.time_range = ?
+            AND NOT EXISTS (SELECT 1 FROM problem_staging s WHERE s.problem_number = f.problem_number)
+            """, companyName, timeRange.getKey());
+
+        int upserted = jdbcTemplate.update("""
+            INSERT INTO problem_frequencies (company, time_range, problem_number, frequency, content_hash)
+            SELECT ?, ?, problem_number, frequency, content_hash
+            FROM problem_staging
+            ON CONFLICT (company, time_range, problem_number) DO UPDATE SET
+                frequency = EXCLUDED.frequency,
+                content_hash = EXCLUDED.content_hash
+            WHERE problem_frequencies.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+            """, companyName, timeRange.getKey());
+
+        log.info("Merged staged problems into {} {}: {} rows upserted, {} rows deleted",
+            companyName, timeRange.getKey(), upserted, deleted);
+    }
+
+    @Override
+    public List<LeetCodeProblem> findAllProblems(String companyName, TimeRange timeRange) {
+        String legacyTable = legacyProblemSetTables.find(new ProblemSetKey(companyName, timeRange));
+        if (legacyTable != null) {
+            return dynamicProblemSetRepository.findAllProblems(legacyTable);
+        }
+
+        return jdbcTemplate.query("""
+            SELECT f.problem_number, p.problem_name, p.acceptance_rate, p.difficulty, f.frequency, p.url
+            FROM problem_frequencies f
+            JOIN problems p ON p.problem_number = f.problem_number
+            WHERE f.company = ? AND f.time_range = ?
+            ORDER BY f.frequency DESC, f.problem_number ASC
+            """, new DynamicProblemSetRepository.ProblemRowMapper(), companyName, timeRange.getKey());
+    }
+
+    @Override
+    @Transactional
+    public void deleteProblems(String companyName, TimeRange timeRange) {
+        legacyProblemSetTables.lock(companyName, timeRange);
+        legacyProblemSetTables.drop(new ProblemSetKey(companyName, timeRange));
+
+        // Shared problem metadata stays, other sets may still reference it
+        jdbcTemplate.update("DELETE FROM problem_frequencies WHERE company = ? AND time_range = ?",
+            companyName, timeRange.getKey());
+    }
+}
@@ -0,0 +1,12 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.ParsedRequestEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for persisted parsed requests, keyed by normalized message text
+ */
+@Repository
+public interface ParsedRequestRepository extends JpaRepository<ParsedRequestEntry, String> {
+}
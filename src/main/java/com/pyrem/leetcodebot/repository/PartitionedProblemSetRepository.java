@@ -0,0 +1,262 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import com.pyrem.leetcodebot.model.TimeRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Problem set storage backed by a single company_problems table keyed by (company, time_range, problem_number)
+ * Reads and writes are single indexed statements, no DDL happens on the request path.
+ * Legacy per-company tables are served read-through until the online migration has copied them.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "leetcode.storage.mode", havingValue = "partitioned")
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionedProblemSetRepository implements ProblemSetStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DynamicProblemSetRepository dynamicProblemSetRepository;
+    private final LegacyProblemSetTables legacyProblemSetTables;
+    private final CopyBulkLoader copyBulkLoader;
+
+    @Value("${leetcode.storage.delta.sync:true}")
+    private boolean deltaSync;
+
+    @PostConstruct
+    public void initialize() {
+        log.info("Initializing partitioned problem store");
+
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS company_problems (
+                company VARCHAR(255) NOT NULL,
+                time_range VARCHAR(32) NOT NULL,
+                problem_number INTEGER NOT NULL,
+                problem_name VARCHAR(500) NOT NULL,
+                acceptance_rate DOUBLE PRECISION,
+                difficulty VARCHAR(20),
+                frequency DOUBLE PRECISION,
+                url VARCHAR(1000),
+                content_hash BIGINT,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                PRIMARY KEY (company, time_range, problem_number)
+            )
+            """);
+        jdbcTemplate.execute("ALTER TABLE company_problems ADD COLUMN IF NOT EXISTS content_hash BIGINT");
+
+        // Covering index: a problem set is read with an index-only scan in frequency order
+        jdbcTemplate.execute("""
+            CREATE INDEX IF NOT EXISTS company_problems_frequency_idx
+            ON company_problems (company, time_range, frequency DESC, problem_number)
+            INCLUDE (problem_name, acceptance_rate, difficulty, url)
+            """);
+
+        // Registered whether or not the background migration runs: until a set is copied or rewritten,
+        // its legacy table is the only copy and reads must go there
+        int pending = legacyProblemSetTables.register("SELECT DISTINCT company, time_range FROM company_problems");
+        log.info("Found {} legacy problem set tables pending migration", pending);
+    }
+
+    @Override
+    public void prepare(String companyName, TimeRange timeRange) {
+        // Schema is created once at startup
+    }
+
+    @Override
+    @Transactional
+    public void saveProblems(String companyName, TimeRange timeRange, List<LeetCodeProblem> problems) {
+        log.info("Saving {} problems for {} {}", problems.size(), companyName, timeRange.getKey());
+
+        legacyProblemSetTables.lock(companyName, timeRange);
+        legacyProblemSetTables.forgetAfterCommit(new ProblemSetKey(companyName, timeRange));
+
+        if (copyBulkLoader.isApplicable(problems.size()) && copyBulkLoader.stage(problems)) {
+            mergeStagedProblems(companyName, timeRange);
+            return;
+        }
+
+        if (deltaSync) {
+            syncProblems(companyName, timeRange, problems);
+            return;
+        }
+
+        jdbcTemplate.update("DELETE FROM company_problems WHERE company = ? AND time_range = ?",
+            companyName, timeRange.getKey());
+
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO company_problems
+                (company, time_range, problem_number, problem_name, acceptance_rate, difficulty, frequency, url)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """, problems, problems.size(),
+            (ps, problem) -> {
+                ps.setString(1, companyName);
+                ps.setString(2, timeRange.getKey());
+                ps.setInt(3, problem.getProblemNumber());
+                ps.setString(4, problem.getProblemName());
+                ps.setDouble(5, problem.getAcceptanceRate());
+                ps.setString(6, problem.getDifficulty().name());
+                ps.setDouble(7, problem.getFrequency());
+                ps.setString(8, problem.getUrl());
+            });
+    }
+
+    /**
+     * Write only the rows of the set whose content hash differs (caller holds the problem set lock)
+     */
+    private void syncProblems(String companyName, TimeRange timeRange, List<LeetCodeProblem> problems) {
+        Map<Integer, Long> storedHashes = new HashMap<>();
+        jdbcTemplate.query("SELECT problem_number, content_hash FROM company_problems WHERE company = ? AND time_range = ?",
+            rs -> {
+                storedHashes.put(rs.getInt("problem_number"), rs.getObject("content_hash", Long.class));
+            }, companyName, timeRange.getKey());
+
+        ProblemSetDelta delta = ProblemSetDelta.compute(storedHashes, problems);
+        if (delta.isEmpty()) {
+            log.info("Problem set {} {} unchanged, nothing to write", companyName, timeRange.getKey());
+            return;
+        }
+
+        if (delta.deletes().length > 0) {
+            jdbcTemplate.update(
+                "DELETE FROM company_problems WHERE company = ? AND time_range = ? AND problem_number = ANY(?)",
+                ps -> {
+                    ps.setString(1, companyName);
+                    ps.setString(2, timeRange.getKey());
+                    ps.setArray(3, ps.getConnection().createArrayOf("integer", delta.deletes()));
+                });
+        }
+
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO company_problems
+                (company, time_range, problem_number, problem_name, acceptance_rate, difficulty, frequency, url, content_hash)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (company, time_range, problem_number) DO UPDATE SET
+                problem_name = EXCLUDED.problem_name,
+                acceptance_rate = EXCLUDED.acceptance_rate,
+                difficulty = EXCLUDED.difficulty,
+                frequency = EXCLUDED.frequency,
+                url = EXCLUDED.url,
+                content_hash = EXCLUDED.content_hash
+            WHERE company_problems.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+            """, delta.upserts(), delta.upserts().size(),
+            (ps, problem) -> {
+                ps.setString(1, companyName);
+                ps.setString(2, timeRange.getKey());
+                ps.setInt(3, problem.getProblemNumber());
+                ps.setString(4, problem.getProblemName());
+                ps.setDouble(5, problem.getAcceptanceRate());
+                ps.setString(6, problem.getDifficulty().name());
+                ps.setDouble(7, problem.getFrequency());
+                ps.setString(8, problem.getUrl());
+                ps.setLong(9, ProblemSetDelta.contentHash(problem));
+            });
+
+        log.info("Synced {} {}: {} rows upserted, {} rows deleted",
+            companyName, timeRange.getKey(), delta.upserts().size(), delta.deletes().length);
+    }
+
+    /**
+     * Merge the rows staged by the bulk loader into the set (caller holds the problem set lock)
+     */
+    private void mergeStagedProblems(String companyName, TimeRange timeRange) {
+        int deleted = jdbcTemplate.update("""
+            DELETE FROM company_problems c
+            WHERE c.company = ? AND c.time_range = ?
+            AND NOT EXISTS (SELECT 1 FROM problem_staging s WHERE s.problem_number = c.problem_number)
+            """, companyName, timeRange.getKey());
+
+        int upserted = jdbcTemplate.update("""
+            INSERT INTO company_problems
+                (company, time_range, problem_number, problem_name, acceptance_rate, difficulty, frequency, url, content_hash)
+            SELECT ?, ?, problem_number, problem_name, acceptance_rate, difficulty, frequency, url, content_hash
+            FROM problem_staging
+            ON CONFLICT (company, time_range, problem_number) DO UPDATE SET
+                problem_name = EXCLUDED.problem_name,
+                acceptance_rate = EXCLUDED.acceptance_rate,
+                difficulty = EXCLUDED.difficulty,
+                frequency = EXCLUDED.frequency,
+                url = EXCLUDED.url,
+                content_hash = EXCLUDED.content_hash
+            WHERE company_problems.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+            """, companyName, timeRange.getKey());
+
+        log.info("Merged staged problems into {} {}: {} rows upserted, {} rows deleted",
+            companyName, timeRange.getKey(), upserted, deleted);
+    }
+
+    @Override
+    public List<LeetCodeProblem> findAllProblems(String companyName, TimeRange timeRange) {
+        String legacyTable = legacyProblemSetTables.find(new ProblemSetKey(companyName, timeRange));
+        if (legacyTable != null) {
+            return dynamicProblemSetRepository.findAllProblems(legacyTable);
+        }
+
+        return jdbcTemplate.query("""
+            SELECT problem_number, problem_name, acceptance_rate, difficulty, frequency, url
+            FROM company_problems
+            WHERE company = ? AND time_range = ?
+            ORDER BY frequency DESC, problem_number ASC
+            """, new DynamicProblemSetRepository.ProblemRowMapper(), companyName, timeRange.getKey());
+    }
+
+    @Override
+    @Transactional
+    public void deleteProblems(String companyName, TimeRange timeRange) {
+        legacyProblemSetTables.lock(companyName, timeRange);
+        legacyProblemSetTables.drop(new ProblemSetKey(companyName, timeRange));
+
+        jdbcTemplate.update("DELETE FROM company_problems WHERE company = ? AND time_range = ?",
+            companyName, timeRange.getKey());
+    }
+
+    /**
+     * Problem sets still waiting to be copied out of their legacy tables
+     */
+    public Set<ProblemSetKey> getPendingMigrations() {
+        return legacyProblemSetTables.pending();
+    }
+
+    /**
+     * Copy one legacy table into company_problems
+     * Skipped if the set was rewritten in the meantime, since the new data supersedes the legacy table
+     *
+     * @return the migrated legacy table name, or null if nothing was copied
+     */
+    @Transactional
+    public String migrateLegacyTable(ProblemSetKey key) {
+        legacyProblemSetTables.lock(key.company(), key.timeRange());
+
+        String legacyTable = legacyProblemSetTables.find(key);
+        if (legacyTable == null) {
+            return null;
+        }
+
+        int copied = jdbcTemplate.update(String.format("""
+            INSERT INTO company_problems
+                (company, time_range, problem_number, problem_name, acceptance_rate, difficulty, frequency, url)
+            SELECT ?, ?, problem_number, problem_name, acceptance_rate, difficulty, frequency, url
+            FROM %s
+            WHERE NOT EXISTS (SELECT 1 FROM company_problems WHERE company = ? AND time_range = ?)
+            ON CONFLICT (company, time_range, problem_number) DO NOTHING
+            """, legacyTable), key.company(), key.timeRange().getKey(), key.company(), key.timeRange().getKey());
+
+        legacyProblemSetTables.forgetAfterCommit(key);
+        log.info("Migrated {} problems from legacy table: {}", copied, legacyTable);
+        return legacyTable;
+    }
+}
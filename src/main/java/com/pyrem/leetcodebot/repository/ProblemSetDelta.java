@@ -0,0 +1,78 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Row-level difference between a stored problem set and its replacement, computed from per-row content hashes
+ *
+ * @param upserts rows that are new or whose content changed
+ * @param deletes problem numbers that are stored but no longer part of the set
+ */
+record ProblemSetDelta(List<LeetCodeProblem> upserts, Integer[] deletes) {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Compare the incoming problems against the stored content hashes (null hash = unknown, always rewritten)
+     */
+    static ProblemSetDelta compute(Map<Integer, Long> storedHashes, List<LeetCodeProblem> incoming) {
+        Map<Integer, LeetCodeProblem> byNumber = latestByNumber(incoming);
+
+        List<LeetCodeProblem> upserts = new ArrayList<>();
+        for (LeetCodeProblem problem : byNumber.values()) {
+            Long stored = storedHashes.get(problem.getProblemNumber());
+            if (stored == null || stored != contentHash(problem)) {
+                upserts.add(problem);
+            }
+        }
+
+        Integer[] deletes = storedHashes.keySet().stream()
+            .filter(number -> !byNumber.containsKey(number))
+            .toArray(Integer[]::new);
+
+        return new ProblemSetDelta(upserts, deletes);
+    }
+
+    /**
+     * Incoming problems keyed by problem number, the last occurrence of a number winning like the upsert it replaces
+     */
+    static Map<Integer, LeetCodeProblem> latestByNumber(List<LeetCodeProblem> incoming) {
+        Map<Integer, LeetCodeProblem> byNumber = new LinkedHashMap<>();
+        incoming.forEach(problem -> byNumber.put(problem.getProblemNumber(), problem));
+        return byNumber;
+    }
+
+    /**
+     * 64-bit FNV-1a hash over every stored column of the row
+     */
+    static long contentHash(LeetCodeProblem problem) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, String.valueOf(problem.getProblemNumber()));
+        hash = mix(hash, problem.getProblemName());
+        hash = mix(hash, String.valueOf(problem.getAcceptanceRate()));
+        hash = mix(hash, problem.getDifficulty() != null ? problem.getDifficulty().name() : null);
+        hash = mix(hash, String.valueOf(problem.getFrequency()));
+        hash = mix(hash, problem.getUrl());
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        String field = Objects.toString(value, "\u0000");
+        for (int i = 0; i < field.length(); i++) {
+            hash = (hash ^ field.charAt(i)) * FNV_PRIME;
+        }
+        // Field separator so ("ab", "c") and ("a", "bc") hash differently
+        return (hash ^ 0x1f) * FNV_PRIME;
+    }
+
+    boolean isEmpty() {
+        return upserts.isEmpty() && deletes.length == 0;
+    }
+}
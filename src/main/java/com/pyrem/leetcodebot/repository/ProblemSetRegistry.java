@@ -0,0 +1,224 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.CachedProblemSet;
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import com.pyrem.leetcodebot.model.TimeRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory registry of problem set tables and their cached_problem_sets metadata
+ * Loaded once at startup and kept current on every create, drop and metadata write (applied after commit),
+ * so existence and freshness checks on the request path never go to the database.
+ * Reloaded periodically to pick up writes made by other bot instances; a reload swaps in new collections at once,
+ * replaying the changes this instance committed while it was reading.
+ * Publishes CompaniesChanged when a company gets its first cached set or a reload changes the set of companies.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProblemSetRegistry {
+
+    /**
+     * The set of companies with cached problem sets changed
+     */
+    public record CompaniesChanged() {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CachedProblemSetRepository cachedProblemSetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Set<String> tables = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Metadata snapshots by (normalized company, time range); entries are never mutated in place
+     */
+    private volatile Map<ProblemSetKey, CachedProblemSet> metadata = new ConcurrentHashMap<>();
+
+    /**
+     * Guards local changes against the swap at the end of a reload
+     */
+    private final Object changeLock = new Object();
+
+    /**
+     * Local changes applied while a reload is reading the database, or null when no reload is running
+     */
+    private List<Runnable> changesDuringReload;
+
+    @PostConstruct
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Reload table names and metadata from the database
+     */
+    @Scheduled(fixedDelayString = "${leetcode.registry.reload.minutes:10}",
+        initialDelayString = "${leetcode.registry.reload.minutes:10}", timeUnit = TimeUnit.MINUTES)
+    public synchronized void reload() {
+        synchronized (changeLock) {
+            changesDuringReload = new ArrayList<>();
+        }
+
+        Set<String> previousCompanies;
+        Set<String> currentCompanies;
+        try {
+            List<String> tableNames = jdbcTemplate.queryForList(
+                "SELECT tablename FROM pg_catalog.pg_tables WHERE schemaname = 'public'", String.class);
+
+            Map<ProblemSetKey, CachedProblemSet> loaded = new HashMap<>();
+            for (CachedProblemSet cached : cachedProblemSetRepository.findAll()) {
+                loaded.put(keyOf(cached), cached);
+            }
+
+            Set<String> loadedTables = ConcurrentHashMap.newKeySet(tableNames.size());
+            loadedTables.addAll(tableNames);
+
+            synchronized (changeLock) {
+                previousCompanies = companies(metadata.keySet());
+                tables = loadedTables;
+                metadata = new ConcurrentHashMap<>(loaded);
+                // Local changes committed while the database was being read may be missing from its result
+                changesDuringReload.forEach(Runnable::run);
+                currentCompanies = companies(metadata.keySet());
+            }
+
+            log.info("Problem set registry loaded {} tables and {} cached problem sets",
+                tableNames.size(), loaded.size());
+        } finally {
+            synchronized (changeLock) {
+                changesDuringReload = null;
+            }
+        }
+
+        if (!previousCompanies.equals(currentCompanies)) {
+            eventPublisher.publishEvent(new CompaniesChanged());
+        }
+    }
+
+    public boolean tableExists(String tableName) {
+        return tables.contains(tableName);
+    }
+
+    /**
+     * Record a table created in the current transaction
+     */
+    public void tableCreated(String tableName) {
+        AfterCommit.run(() -> applyChange(() -> tables.add(tableName)));
+    }
+
+    /**
+     * Record a table dropped in the current transaction
+     */
+    public void tableDropped(String tableName) {
+        AfterCommit.run(() -> applyChange(() -> tables.remove(tableName)));
+    }
+
+    public Optional<CachedProblemSet> find(String normalizedCompany, TimeRange timeRange) {
+        return Optional.ofNullable(metadata.get(new ProblemSetKey(normalizedCompany, timeRange)));
+    }
+
+    /**
+     * Editable copy of a problem set's metadata, looked up in the database by table name when it is not registered
+     * (another instance may have cached the set since the last reload), so saving it updates the existing row
+     */
+    public Optional<CachedProblemSet> findForUpdate(String normalizedCompany, TimeRange timeRange, String tableName) {
+        return find(normalizedCompany, timeRange)
+            .or(() -> cachedProblemSetRepository.findByTableName(tableName))
+            .map(ProblemSetRegistry::copyOf);
+    }
+
+    /**
+     * All cached problem sets of a company, in any order
+     */
+    public List<CachedProblemSet> findByCompany(String normalizedCompany) {
+        List<CachedProblemSet> sets = new ArrayList<>(TimeRange.values().length);
+        for (TimeRange timeRange : TimeRange.values()) {
+            find(normalizedCompany, timeRange).ifPresent(sets::add);
+        }
+        return sets;
+    }
+
+    public List<CachedProblemSet> findAll() {
+        return List.copyOf(metadata.values());
+    }
+
+    /**
+     * Save metadata and publish it to the registry once the transaction commits
+     */
+    public CachedProblemSet save(CachedProblemSet cached) {
+        CachedProblemSet saved = cachedProblemSetRepository.save(cached);
+        CachedProblemSet snapshot = copyOf(saved);
+        AfterCommit.run(() -> {
+            ProblemSetKey key = keyOf(snapshot);
+            boolean newCompany = findByCompany(key.company()).isEmpty();
+            applyChange(() -> metadata.put(key, snapshot));
+            if (newCompany) {
+                eventPublisher.publishEvent(new CompaniesChanged());
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Delete metadata and remove it from the registry once the transaction commits
+     */
+    public void delete(CachedProblemSet cached) {
+        cachedProblemSetRepository.deleteById(cached.getId());
+        AfterCommit.run(() -> applyChange(() -> metadata.remove(keyOf(cached))));
+    }
+
+    /**
+     * Apply a committed local change, remembering it for a reload that is in progress.
+     * Changes read the fields when run, so a replay applies them to the reloaded collections
+     */
+    private void applyChange(Runnable change) {
+        synchronized (changeLock) {
+            change.run();
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        }
+    }
+
+    /**
+     * Copy of a metadata entry that callers may modify and pass to save
+     */
+    public static CachedProblemSet copyOf(CachedProblemSet cached) {
+        return CachedProblemSet.builder()
+            .id(cached.getId())
+            .companyName(cached.getCompanyName())
+            .timeRange(cached.getTimeRange())
+            .tableName(cached.getTableName())
+            .problemCount(cached.getProblemCount())
+            .lastUpdated(cached.getLastUpdated())
+            .createdAt(cached.getCreatedAt())
+            .build();
+    }
+
+    private static Set<String> companies(Set<ProblemSetKey> keys) {
+        Set<String> companies = new HashSet<>();
+        keys.forEach(key -> companies.add(key.company()));
+        return companies;
+    }
+
+    private static ProblemSetKey keyOf(CachedProblemSet cached) {
+        return new ProblemSetKey(cached.getCompanyName(), TimeRange.fromString(cached.getTimeRange()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.TimeRange;
+
+import java.util.List;
+
+/**
+ * Storage for the problems of each company/time-range problem set
+ * Selected with leetcode.storage.mode (table = one table per set, partitioned = single shared table,
+ * normalized = shared problem metadata plus per-set frequency rows)
+ */
+public interface ProblemSetStore {
+
+    /**
+     * Make sure storage exists for a problem set before it is written
+     */
+    void prepare(String companyName, TimeRange timeRange);
+
+    /**
+     * Replace the stored problems of a problem set
+     */
+    void saveProblems(String companyName, TimeRange timeRange, List<LeetCodeProblem> problems);
+
+    /**
+     * Retrieve all problems of a problem set, ordered by frequency (descending)
+     */
+    List<LeetCodeProblem> findAllProblems(String companyName, TimeRange timeRange);
+
+    /**
+     * Remove a problem set from storage
+     */
+    void deleteProblems(String companyName, TimeRange timeRange);
+}
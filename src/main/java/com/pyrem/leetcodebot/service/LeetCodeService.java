@@ -1,29 +1,51 @@
 package com.pyrem.leetcodebot.service;
 
 import com.pyrem.leetcodebot.model.*;
-import com.pyrem.leetcodebot.repository.CachedProblemSetRepository;
-import com.pyrem.leetcodebot.repository.DynamicProblemSetRepository;
-import lombok.RequiredArgsConstructor;
+import com.pyrem.leetcodebot.repository.ProblemSetRegistry;
+import com.pyrem.leetcodebot.repository.ProblemSetStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
  * Service for managing LeetCode problem sets with caching and automatic time range selection
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class LeetCodeService {
 
-    private final CachedProblemSetRepository cachedProblemSetRepository;
-    private final DynamicProblemSetRepository dynamicProblemSetRepository;
+    private final ProblemSetRegistry problemSetRegistry;
+    private final ProblemSetStore problemSetStore;
     private final MockLeetCodeClient mockLeetCodeClient;
+    private final ProblemListCache problemListCache;
+    private final ProblemSetRefresher problemSetRefresher;
+    private final RequestFrequencyTracker requestFrequencyTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<ProblemSetKey, ProblemSet> refreshFlights;
+    private final SingleFlight<String, Map<TimeRange, ProblemSet>> companyFlights;
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Connections the parallel range fetches may hold on top of their callers' own, across all requests
+     */
+    private final Semaphore fetchConnections;
 
     @Value("${leetcode.cache.expiry.days:30}")
     private int cacheExpiryDays;
@@ -34,12 +56,67 @@ public class LeetCodeService {
     @Value("${leetcode.problemset.max.size:50}")
     private int maxProblemSetSize;
 
+    @Value("${leetcode.cache.stale.while.revalidate:true}")
+    private boolean staleWhileRevalidate;
+
+    @Value("${leetcode.cache.hard.expiry.days:60}")
+    private int hardExpiryDays;
+
+    @Value("${leetcode.fetch.derive.ranges:true}")
+    private boolean deriveRanges;
+
+    public LeetCodeService(ProblemSetRegistry problemSetRegistry, ProblemSetStore problemSetStore,
+                           MockLeetCodeClient mockLeetCodeClient, ProblemListCache problemListCache,
+                           ProblemSetRefresher problemSetRefresher, RequestFrequencyTracker requestFrequencyTracker,
+                           TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                           @Value("${leetcode.fetch.parallel.connections:4}") int parallelFetchConnections) {
+        this.problemSetRegistry = problemSetRegistry;
+        this.problemSetStore = problemSetStore;
+        this.mockLeetCodeClient = mockLeetCodeClient;
+        this.problemListCache = problemListCache;
+        this.problemSetRefresher = problemSetRefresher;
+        this.requestFrequencyTracker = requestFrequencyTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.refreshFlights = new SingleFlight<>(meterRegistry.counter("leetcode.fetch.coalesced"));
+        this.companyFlights = new SingleFlight<>(meterRegistry.counter("leetcode.fetch.coalesced"));
+        this.fetchConnections = new Semaphore(parallelFetchConnections);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
     /**
      * Get problems for a company, using cache if available and not expired
      * Implements automatic time range selection if not explicitly specified
      */
     @Transactional
     public List<LeetCodeProblem> getProblems(String company, TimeRange requestedTimeRange, boolean explicitTimeRange) {
+        return getProblemSet(company, requestedTimeRange, explicitTimeRange).problems();
+    }
+
+    /**
+     * Same as getProblems, but also returns the time range that was served and the version of the set
+     */
+    @Transactional
+    public ProblemSet getProblemSet(String company, TimeRange requestedTimeRange, boolean explicitTimeRange) {
+        ProblemSet problemSet = resolveProblemSet(company, requestedTimeRange, explicitTimeRange);
+
+        // Counted once per request, for the range actually served
+        requestFrequencyTracker.record(problemSet.key(), company);
+        return problemSet;
+    }
+
+    /**
+     * Load a problem set into the caches like a request would, without counting it as user demand
+     */
+    @Transactional
+    public ProblemSet warmProblemSet(String company, TimeRange requestedTimeRange, boolean explicitTimeRange) {
+        return resolveProblemSet(company, requestedTimeRange, explicitTimeRange);
+    }
+
+    private ProblemSet resolveProblemSet(String company, TimeRange requestedTimeRange, boolean explicitTimeRange) {
         log.info("Getting problems for company: {}, timeRange: {}, explicit: {}",
             company, requestedTimeRange, explicitTimeRange);
 
@@ -54,18 +131,46 @@ public class LeetCodeService {
         }
     }
 
+    /**
+     * Fetch a problem set from the API and store it, regardless of its current cache state
+     */
+    @Transactional
+    public List<LeetCodeProblem> refreshProblemSet(String company, TimeRange timeRange) {
+        String normalizedCompany = CompanyProblemRequest.normalizeCompanyName(company);
+        String tableName = CompanyProblemRequest.getTableName(normalizedCompany, timeRange);
+
+        return fetchAndCacheProblems(normalizedCompany, company, timeRange, tableName).problems();
+    }
+
     /**
      * Get problems for a specific time range
      */
-    private List<LeetCodeProblem> getProblemsForTimeRange(String normalizedCompany, String displayCompany, TimeRange timeRange) {
+    private ProblemSet getProblemsForTimeRange(String normalizedCompany, String displayCompany, TimeRange timeRange) {
+        ProblemSetKey key = new ProblemSetKey(normalizedCompany, timeRange);
         String tableName = CompanyProblemRequest.getTableName(normalizedCompany, timeRange);
 
-        // Check if cached and not expired
-        CachedProblemSet cached = cachedProblemSetRepository.findByTableName(tableName).orElse(null);
+        // Serve from the in-memory cache without touching the database
+        ProblemListCache.Entry l1 = problemListCache.get(key).orElse(null);
+        if (l1 != null) {
+            if (l1.isExpired(cacheExpiryDays)) {
+                scheduleRefresh(normalizedCompany, displayCompany, timeRange, tableName);
+            }
+            return new ProblemSet(key, l1.problems(), l1.lastUpdated());
+        }
+
+        // Check if cached and not expired (metadata is held in memory by the registry)
+        CachedProblemSet cached = problemSetRegistry.find(normalizedCompany, timeRange).orElse(null);
 
         if (cached != null && !cached.isExpired(cacheExpiryDays)) {
             log.info("Using cached problem set from table: {}", tableName);
-            return dynamicProblemSetRepository.findAllProblems(tableName);
+            return loadCached(key, cached);
+        }
+
+        // Expired but within the hard expiry: serve stale data now and refresh in the background
+        if (cached != null && staleWhileRevalidate && !cached.isExpired(hardExpiryDays)) {
+            log.info("Serving stale problem set from table: {}, refreshing in background", tableName);
+            scheduleRefresh(normalizedCompany, displayCompany, timeRange, tableName);
+            return loadCached(key, cached);
         }
 
         // Cache miss or expired, fetch fresh data
@@ -73,78 +178,192 @@ public class LeetCodeService {
         return fetchAndCacheProblems(normalizedCompany, displayCompany, timeRange, tableName);
     }
 
+    /**
+     * Load a cached set from the store into the L1 cache
+     */
+    private ProblemSet loadCached(ProblemSetKey key, CachedProblemSet cached) {
+        List<LeetCodeProblem> problems = problemListCache.put(key,
+            problemSetStore.findAllProblems(key.company(), key.timeRange()), cached.getLastUpdated());
+        return new ProblemSet(key, problems, cached.getLastUpdated());
+    }
+
     /**
      * Automatically select the best time range (most recent with at least minProblemSetSize problems)
+     * Decides from the company's cached metadata in one in-memory pass; ranges that are not cached
+     * and could still win are fetched in parallel, then the winner is picked in priority order
      */
-    private List<LeetCodeProblem> getProblemsWithAutoTimeRange(String normalizedCompany, String displayCompany) {
+    private ProblemSet getProblemsWithAutoTimeRange(String normalizedCompany, String displayCompany) {
         log.info("Auto-selecting time range for company: {}", normalizedCompany);
 
-        // Try each time range from most recent to oldest
+        Map<TimeRange, CachedProblemSet> cached = new EnumMap<>(TimeRange.class);
+        for (CachedProblemSet set : problemSetRegistry.findByCompany(normalizedCompany)) {
+            cached.put(TimeRange.fromString(set.getTimeRange()), set);
+        }
+
+        // Walk from most recent to oldest until a servable cached range is large enough,
+        // collecting the ranges in front of it that have no servable cached copy
+        TimeRange bestCached = null;
+        List<TimeRange> missing = new ArrayList<>();
         for (TimeRange timeRange : TimeRange.values()) {
-            String tableName = CompanyProblemRequest.getTableName(normalizedCompany, timeRange);
+            CachedProblemSet set = cached.get(timeRange);
+            if (set == null || !isServable(set)) {
+                missing.add(timeRange);
+            } else if (set.getProblemCount() >= minProblemSetSize) {
+                bestCached = timeRange;
+                break;
+            }
+        }
 
-            // Check cache first
-            CachedProblemSet cached = cachedProblemSetRepository.findByTableName(tableName).orElse(null);
+        if (missing.isEmpty()) {
+            // Every range is cached: the first large enough one wins, otherwise return whatever "ALL" has
+            TimeRange chosen = bestCached != null ? bestCached : TimeRange.ALL;
+            log.info("Selected cached range {} for company: {}", chosen, normalizedCompany);
+            return getProblemsForTimeRange(normalizedCompany, displayCompany, chosen);
+        }
 
-            if (cached != null && !cached.isExpired(cacheExpiryDays) && cached.getProblemCount() >= minProblemSetSize) {
-                log.info("Found cached problem set with {} problems in range: {}", cached.getProblemCount(), timeRange);
-                return dynamicProblemSetRepository.findAllProblems(tableName);
+        Map<TimeRange, Future<ProblemSet>> fetches = new EnumMap<>(TimeRange.class);
+        if (deriveRanges) {
+            // One fetch of the company's ask history stores every range
+            Map<TimeRange, ProblemSet> derived = fetchAndCacheAllRanges(normalizedCompany, displayCompany);
+            missing.forEach(timeRange -> fetches.put(timeRange, CompletableFuture.completedFuture(derived.get(timeRange))));
+        } else {
+            // Fetch the candidate ranges at once, each in its own transaction (and connection) while the
+            // connection budget allows; the rest run in the caller's transaction rather than wait for the pool
+            for (TimeRange timeRange : missing) {
+                String tableName = CompanyProblemRequest.getTableName(normalizedCompany, timeRange);
+                if (fetchConnections.tryAcquire()) {
+                    fetches.put(timeRange, fetchExecutor.submit(() -> {
+                        try {
+                            return transactionTemplate.execute(status ->
+                                fetchAndCacheProblems(normalizedCompany, displayCompany, timeRange, tableName));
+                        } finally {
+                            fetchConnections.release();
+                        }
+                    }));
+                } else {
+                    fetches.put(timeRange, CompletableFuture.completedFuture(
+                        fetchAndCacheProblems(normalizedCompany, displayCompany, timeRange, tableName)));
+                }
             }
+            log.info("Fetching {} candidate ranges in parallel for company: {}", missing, normalizedCompany);
+        }
 
-            // Try fetching fresh data
-            List<LeetCodeProblem> problems = mockLeetCodeClient.fetchProblems(displayCompany, timeRange);
+        ProblemSet result = null; // "ALL" is always resolved below
+        for (TimeRange timeRange : TimeRange.values()) {
+            if (timeRange == bestCached) {
+                return getProblemsForTimeRange(normalizedCompany, displayCompany, timeRange);
+            }
 
-            if (problems.size() >= minProblemSetSize) {
-                log.info("Found {} problems in range: {}, caching...", problems.size(), timeRange);
-                return cacheProblems(normalizedCompany, timeRange, tableName, problems);
+            if (!fetches.containsKey(timeRange)) {
+                // Cached but known to be too small; only "ALL" is needed, as the last resort
+                if (timeRange == TimeRange.ALL) {
+                    result = getProblemsForTimeRange(normalizedCompany, displayCompany, timeRange);
+                }
+                continue;
             }
 
-            log.info("Only {} problems in range: {}, trying wider range...", problems.size(), timeRange);
+            result = await(fetches.get(timeRange));
+            if (result.size() >= minProblemSetSize) {
+                log.info("Found {} problems in range: {}", result.size(), timeRange);
+                return result;
+            }
         }
 
         // If we get here, even "ALL" doesn't have enough problems
         // Return whatever we have from "ALL"
-        TimeRange allRange = TimeRange.ALL;
-        String tableName = CompanyProblemRequest.getTableName(normalizedCompany, allRange);
-        List<LeetCodeProblem> allProblems = mockLeetCodeClient.fetchProblems(displayCompany, allRange);
-
         log.warn("Could not find {} problems for company: {}, returning all {} problems",
-            minProblemSetSize, normalizedCompany, allProblems.size());
+            minProblemSetSize, normalizedCompany, result.size());
+
+        return result;
+    }
 
-        return cacheProblems(normalizedCompany, allRange, tableName, allProblems);
+    /**
+     * Whether a cached set can be served without fetching first (fresh, or stale within the hard expiry)
+     */
+    private boolean isServable(CachedProblemSet cached) {
+        return !cached.isExpired(cacheExpiryDays) || (staleWhileRevalidate && !cached.isExpired(hardExpiryDays));
+    }
+
+    private static ProblemSet await(Future<ProblemSet> fetch) {
+        try {
+            return fetch.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Problem set fetch failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for problem set fetch", e);
+        }
     }
 
     /**
      * Fetch problems from API and cache them
+     * Concurrent misses for the same company and time range share a single fetch-and-store
      */
-    private List<LeetCodeProblem> fetchAndCacheProblems(String normalizedCompany, String displayCompany,
-                                                         TimeRange timeRange, String tableName) {
-        // Fetch from API
-        List<LeetCodeProblem> problems = mockLeetCodeClient.fetchProblems(displayCompany, timeRange);
+    private ProblemSet fetchAndCacheProblems(String normalizedCompany, String displayCompany,
+                                             TimeRange timeRange, String tableName) {
+        if (deriveRanges) {
+            return fetchAndCacheAllRanges(normalizedCompany, displayCompany).get(timeRange);
+        }
+
+        return refreshFlights.execute(new ProblemSetKey(normalizedCompany, timeRange), () -> {
+            // Fetch from API
+            List<LeetCodeProblem> fetched = mockLeetCodeClient.fetchProblems(displayCompany, timeRange);
+
+            return cacheProblems(normalizedCompany, timeRange, tableName, fetched);
+        });
+    }
+
+    /**
+     * Fetch the company's ask history once and store the problem set of every time range derived from it,
+     * all in the caller's transaction
+     * Concurrent misses for any range of the same company share a single fetch-and-store
+     */
+    private Map<TimeRange, ProblemSet> fetchAndCacheAllRanges(String normalizedCompany, String displayCompany) {
+        return companyFlights.execute(normalizedCompany, () -> {
+            List<ProblemAskHistory> history = mockLeetCodeClient.fetchAskHistory(displayCompany);
+
+            Map<TimeRange, ProblemSet> cached = new EnumMap<>(TimeRange.class);
+            ProblemSetDeriver.derive(history, LocalDate.now()).forEach((timeRange, problems) -> {
+                String tableName = CompanyProblemRequest.getTableName(normalizedCompany, timeRange);
+                cached.put(timeRange, cacheProblems(normalizedCompany, timeRange, tableName, problems));
+            });
+            return cached;
+        });
+    }
 
-        return cacheProblems(normalizedCompany, timeRange, tableName, problems);
+    /**
+     * Schedule a background fetch-and-store of an expired problem set in its own transaction
+     */
+    private void scheduleRefresh(String normalizedCompany, String displayCompany,
+                                 TimeRange timeRange, String tableName) {
+        // With derived ranges one refresh stores every range of the company, so refreshes are deduplicated per company
+        ProblemSetKey refreshKey = new ProblemSetKey(normalizedCompany, deriveRanges ? TimeRange.ALL : timeRange);
+        problemSetRefresher.schedule(refreshKey,
+            () -> transactionTemplate.executeWithoutResult(status ->
+                fetchAndCacheProblems(normalizedCompany, displayCompany, timeRange, tableName)));
     }
 
     /**
      * Cache problems in the database
      */
-    private List<LeetCodeProblem> cacheProblems(String normalizedCompany, TimeRange timeRange,
-                                                 String tableName, List<LeetCodeProblem> problems) {
+    private ProblemSet cacheProblems(String normalizedCompany, TimeRange timeRange,
+                                     String tableName, List<LeetCodeProblem> problems) {
         // Limit to max size
         List<LeetCodeProblem> limitedProblems = problems.size() > maxProblemSetSize
             ? problems.subList(0, maxProblemSetSize)
             : problems;
 
-        // Create table if it doesn't exist
-        if (!dynamicProblemSetRepository.tableExists(tableName)) {
-            dynamicProblemSetRepository.createProblemSetTable(tableName);
-        }
+        // Create storage (e.g. the company table) if it doesn't exist
+        problemSetStore.prepare(normalizedCompany, timeRange);
 
         // Save problems
-        dynamicProblemSetRepository.saveProblems(tableName, limitedProblems);
+        problemSetStore.saveProblems(normalizedCompany, timeRange, limitedProblems);
 
         // Update or create cache metadata
-        CachedProblemSet cached = cachedProblemSetRepository.findByTableName(tableName)
+        CachedProblemSet cached = problemSetRegistry.findForUpdate(normalizedCompany, timeRange, tableName)
             .orElse(CachedProblemSet.builder()
                 .companyName(normalizedCompany)
                 .timeRange(timeRange.getKey())
@@ -154,11 +373,20 @@ public class LeetCodeService {
         cached.setProblemCount(limitedProblems.size());
         cached.setLastUpdated(LocalDateTime.now());
 
-        cachedProblemSetRepository.save(cached);
+        cached = problemSetRegistry.save(cached);
 
         log.info("Cached {} problems for {}", limitedProblems.size(), tableName);
 
-        return limitedProblems;
+        ProblemSetKey key = new ProblemSetKey(normalizedCompany, timeRange);
+        return new ProblemSet(key, problemListCache.put(key, limitedProblems, cached.getLastUpdated()),
+            cached.getLastUpdated());
+    }
+
+    /**
+     * Whether every time range of a company is derived from one fetch (refreshing one range refreshes all)
+     */
+    public boolean isDerivingRanges() {
+        return deriveRanges;
     }
 
     /**
@@ -168,10 +396,12 @@ public class LeetCodeService {
         String normalizedCompany = CompanyProblemRequest.normalizeCompanyName(company);
         String tableName = CompanyProblemRequest.getTableName(normalizedCompany, timeRange);
 
-        cachedProblemSetRepository.findByTableName(tableName).ifPresent(cached -> {
+        problemListCache.invalidate(new ProblemSetKey(normalizedCompany, timeRange));
+
+        problemSetRegistry.find(normalizedCompany, timeRange).ifPresent(cached -> {
             log.info("Invalidating cache for: {}", tableName);
-            cachedProblemSetRepository.delete(cached);
-            dynamicProblemSetRepository.dropTable(tableName);
+            problemSetRegistry.delete(cached);
+            problemSetStore.deleteProblems(normalizedCompany, timeRange);
         });
     }
 }
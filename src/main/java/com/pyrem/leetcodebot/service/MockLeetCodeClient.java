@@ -1,11 +1,13 @@
 package com.pyrem.leetcodebot.service;
 
 import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemAskHistory;
 import com.pyrem.leetcodebot.model.ProblemDifficulty;
 import com.pyrem.leetcodebot.model.TimeRange;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -18,6 +20,53 @@ import java.util.Random;
 @Slf4j
 public class MockLeetCodeClient {
 
+    /**
+     * Ask history reaches back this far
+     */
+    private static final int HISTORY_DAYS = 730;
+
+    /**
+     * Mock problems based on real LeetCode problems
+     */
+    private static final String[][] MOCK_PROBLEMS = {
+        {"1", "Two Sum", "Easy"},
+        {"2", "Add Two Numbers", "Medium"},
+        {"3", "Longest Substring Without Repeating Characters", "Medium"},
+        {"7", "Reverse Integer", "Medium"},
+        {"9", "Palindrome Number", "Easy"},
+        {"13", "Roman to Integer", "Easy"},
+        {"14", "Longest Common Prefix", "Easy"},
+        {"20", "Valid Parentheses", "Easy"},
+        {"21", "Merge Two Sorted Lists", "Easy"},
+        {"53", "Maximum Subarray", "Medium"},
+        {"121", "Best Time to Buy and Sell Stock", "Easy"},
+        {"125", "Valid Palindrome", "Easy"},
+        {"206", "Reverse Linked List", "Easy"},
+        {"217", "Contains Duplicate", "Easy"},
+        {"226", "Invert Binary Tree", "Easy"},
+        {"242", "Valid Anagram", "Easy"},
+        {"283", "Move Zeroes", "Easy"},
+        {"344", "Reverse String", "Easy"},
+        {"387", "First Unique Character in a String", "Easy"},
+        {"394", "Decode String", "Medium"},
+        {"4", "Median of Two Sorted Arrays", "Hard"},
+        {"15", "3Sum", "Medium"},
+        {"17", "Letter Combinations of a Phone Number", "Medium"},
+        {"19", "Remove Nth Node From End of List", "Medium"},
+        {"22", "Generate Parentheses", "Medium"},
+        {"33", "Search in Rotated Sorted Array", "Medium"},
+        {"39", "Combination Sum", "Medium"},
+        {"46", "Permutations", "Medium"},
+        {"48", "Rotate Image", "Medium"},
+        {"49", "Group Anagrams", "Medium"},
+        {"56", "Merge Intervals", "Medium"},
+        {"75", "Sort Colors", "Medium"},
+        {"78", "Subsets", "Medium"},
+        {"79", "Word Search", "Medium"},
+        {"253", "Meeting Rooms II", "Medium"},
+        {"2235", "Add Two Integers", "Easy"}
+    };
+
     private final Random random = new Random();
 
     /**
@@ -38,54 +87,14 @@ public class MockLeetCodeClient {
 
         List<LeetCodeProblem> problems = new ArrayList<>();
 
-        // Generate mock problems based on real LeetCode problems
-        String[][] mockProblems = {
-            {"1", "Two Sum", "Easy"},
-            {"2", "Add Two Numbers", "Medium"},
-            {"3", "Longest Substring Without Repeating Characters", "Medium"},
-            {"7", "Reverse Integer", "Medium"},
-            {"9", "Palindrome Number", "Easy"},
-            {"13", "Roman to Integer", "Easy"},
-            {"14", "Longest Common Prefix", "Easy"},
-            {"20", "Valid Parentheses", "Easy"},
-            {"21", "Merge Two Sorted Lists", "Easy"},
-            {"53", "Maximum Subarray", "Medium"},
-            {"121", "Best Time to Buy and Sell Stock", "Easy"},
-            {"125", "Valid Palindrome", "Easy"},
-            {"206", "Reverse Linked List", "Easy"},
-            {"217", "Contains Duplicate", "Easy"},
-            {"226", "Invert Binary Tree", "Easy"},
-            {"242", "Valid Anagram", "Easy"},
-            {"283", "Move Zeroes", "Easy"},
-            {"344", "Reverse String", "Easy"},
-            {"387", "First Unique Character in a String", "Easy"},
-            {"394", "Decode String", "Medium"},
-            {"4", "Median of Two Sorted Arrays", "Hard"},
-            {"15", "3Sum", "Medium"},
-            {"17", "Letter Combinations of a Phone Number", "Medium"},
-            {"19", "Remove Nth Node From End of List", "Medium"},
-            {"22", "Generate Parentheses", "Medium"},
-            {"33", "Search in Rotated Sorted Array", "Medium"},
-            {"39", "Combination Sum", "Medium"},
-            {"46", "Permutations", "Medium"},
-            {"48", "Rotate Image", "Medium"},
-            {"49", "Group Anagrams", "Medium"},
-            {"56", "Merge Intervals", "Medium"},
-            {"75", "Sort Colors", "Medium"},
-            {"78", "Subsets", "Medium"},
-            {"79", "Word Search", "Medium"},
-            {"253", "Meeting Rooms II", "Medium"},
-            {"2235", "Add Two Integers", "Easy"}
-        };
-
         // Limit to available mock problems or requested count
-        int actualCount = Math.min(problemCount, mockProblems.length);
+        int actualCount = Math.min(problemCount, MOCK_PROBLEMS.length);
 
         for (int i = 0; i < actualCount; i++) {
-            String[] mockProblem = mockProblems[i % mockProblems.length];
+            String[] mockProblem = MOCK_PROBLEMS[i % MOCK_PROBLEMS.length];
 
             // Generate realistic metrics
-            double acceptanceRate = 0.3 + (random.nextDouble() * 0.6); // 30% - 90%
+            double acceptanceRate = acceptanceRate(Integer.parseInt(mockProblem[0]));
             double frequency = 1.0 - (i * 0.01); // Decreasing frequency
 
             problems.add(LeetCodeProblem.builder()
@@ -101,4 +110,48 @@ public class MockLeetCodeClient {
         log.info("MOCK: Returning {} problems for {}", problems.size(), company);
         return problems;
     }
+
+    /**
+     * Mock method to fetch a company's per-problem ask history (every time range in one call)
+     * Seeded by company, so repeated fetches return the same problems with the same dates relative to today
+     * Problem metadata does not depend on the company, like the real data shared by every company's lists
+     */
+    public List<ProblemAskHistory> fetchAskHistory(String company) {
+        log.info("MOCK: Fetching ask history for company: {}", company);
+
+        Random seeded = new Random(company.toLowerCase().hashCode());
+        LocalDate today = LocalDate.now();
+        List<ProblemAskHistory> history = new ArrayList<>(MOCK_PROBLEMS.length);
+
+        for (int i = 0; i < MOCK_PROBLEMS.length; i++) {
+            String[] mockProblem = MOCK_PROBLEMS[i];
+
+            // Popular problems are asked more often; some were mostly asked long ago, others recently
+            int asks = Math.max(1, MOCK_PROBLEMS.length - i + seeded.nextInt(10) - 5);
+            double recency = 0.5 + seeded.nextDouble() * 2.5;
+            List<LocalDate> askedDates = new ArrayList<>(asks);
+            for (int a = 0; a < asks; a++) {
+                askedDates.add(today.minusDays((long) (Math.pow(seeded.nextDouble(), recency) * HISTORY_DAYS)));
+            }
+
+            history.add(ProblemAskHistory.builder()
+                .problemNumber(Integer.parseInt(mockProblem[0]))
+                .problemName(mockProblem[1])
+                .acceptanceRate(acceptanceRate(Integer.parseInt(mockProblem[0])))
+                .difficulty(ProblemDifficulty.fromString(mockProblem[2]))
+                .url("https://leetcode.com/problems/" + mockProblem[1].toLowerCase().replace(" ", "-") + "/")
+                .askedDates(askedDates)
+                .build());
+        }
+
+        log.info("MOCK: Returning ask history of {} problems for {}", history.size(), company);
+        return history;
+    }
+
+    /**
+     * Acceptance rate of a problem, seeded by problem number so every company and time range agrees on it
+     */
+    private static double acceptanceRate(int problemNumber) {
+        return 0.3 + (new Random(problemNumber).nextDouble() * 0.6); // 30% - 90%
+    }
 }
@@ -0,0 +1,132 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import com.pyrem.leetcodebot.repository.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process L1 cache of problem lists in front of the database
+ * Holds immutable, pre-sorted lists keyed by (company, time range), bounded in size (LRU)
+ * and expiring together with the database copy they were loaded from.
+ * Problem metadata is interned through the ProblemPool so lists for different companies share it.
+ */
+@Component
+@Slf4j
+public class ProblemListCache {
+
+    /**
+     * Cached problem list together with the time the underlying set was last updated
+     */
+    public record Entry(List<LeetCodeProblem> problems, LocalDateTime lastUpdated) {
+
+        /**
+         * Check if this entry is older than the specified days
+         */
+        public boolean isExpired(int expiryDays) {
+            return lastUpdated.plusDays(expiryDays).isBefore(LocalDateTime.now());
+        }
+    }
+
+    private final Map<ProblemSetKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ProblemSetKey, Entry> eldest) {
+            if (size() > maxEntries) {
+                sizeEvictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final ProblemPool problemPool;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    @Value("${leetcode.cache.l1.max.entries:500}")
+    private int maxEntries;
+
+    @Value("${leetcode.cache.expiry.days:30}")
+    private int cacheExpiryDays;
+
+    @Value("${leetcode.cache.stale.while.revalidate:true}")
+    private boolean staleWhileRevalidate;
+
+    @Value("${leetcode.cache.hard.expiry.days:60}")
+    private int hardExpiryDays;
+
+    public ProblemListCache(ProblemPool problemPool, MeterRegistry meterRegistry) {
+        this.problemPool = problemPool;
+        this.hits = meterRegistry.counter("leetcode.cache.l1.hits");
+        this.misses = meterRegistry.counter("leetcode.cache.l1.misses");
+        this.sizeEvictions = meterRegistry.counter("leetcode.cache.l1.evictions", "cause", "size");
+        this.expiredEvictions = meterRegistry.counter("leetcode.cache.l1.evictions", "cause", "expired");
+        Gauge.builder("leetcode.cache.l1.size", this, ProblemListCache::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Look up a cached problem list, dropping it if it has outlived the cache expiry
+     * With stale-while-revalidate, entries are kept until the hard expiry and may be stale
+     */
+    public synchronized Optional<Entry> get(ProblemSetKey key) {
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        if (entry.isExpired(staleWhileRevalidate ? hardExpiryDays : cacheExpiryDays)) {
+            entries.remove(key);
+            expiredEvictions.increment();
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(entry);
+    }
+
+    /**
+     * Store an immutable, interned copy of a problem list and return it
+     * Inside a transaction the entry is only published once it commits, so a rollback never leaves
+     * the cache serving rows that were not persisted
+     */
+    public List<LeetCodeProblem> put(ProblemSetKey key, List<LeetCodeProblem> problems, LocalDateTime lastUpdated) {
+        List<LeetCodeProblem> immutable = problems.stream().map(problemPool::intern).toList();
+        Entry entry = new Entry(immutable, lastUpdated);
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                entries.put(key, entry);
+            }
+        });
+        return immutable;
+    }
+
+    /**
+     * Remove a cached problem list
+     */
+    public synchronized void invalidate(ProblemSetKey key) {
+        if (entries.remove(key) != null) {
+            log.debug("Invalidated L1 cache entry: {}", key);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
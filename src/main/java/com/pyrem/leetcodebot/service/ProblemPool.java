@@ -0,0 +1,59 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning pool for problem metadata shared by every cached problem list
+ * The same problem appears in the lists of many companies and time ranges with only the frequency differing,
+ * so cached copies share one set of name/URL strings per problem number instead of holding their own
+ */
+@Component
+public class ProblemPool {
+
+    private final Map<Integer, LeetCodeProblem> canonical = new ConcurrentHashMap<>();
+
+    public ProblemPool(MeterRegistry meterRegistry) {
+        Gauge.builder("leetcode.cache.problem.pool.size", canonical, Map::size)
+            .description("Distinct problems held by the interning pool")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Return a problem whose metadata strings are the pooled instances for its problem number
+     * The pool entry is replaced if the problem's metadata changed upstream
+     */
+    public LeetCodeProblem intern(LeetCodeProblem problem) {
+        if (problem.getProblemNumber() == null) {
+            return problem;
+        }
+
+        LeetCodeProblem shared = canonical.compute(problem.getProblemNumber(),
+            (number, existing) -> existing != null && sameMetadata(existing, problem) ? existing : problem);
+        if (shared == problem) {
+            return problem;
+        }
+
+        return LeetCodeProblem.builder()
+            .problemNumber(shared.getProblemNumber())
+            .problemName(shared.getProblemName())
+            .acceptanceRate(shared.getAcceptanceRate())
+            .difficulty(shared.getDifficulty())
+            .frequency(problem.getFrequency())
+            .url(shared.getUrl())
+            .build();
+    }
+
+    private static boolean sameMetadata(LeetCodeProblem a, LeetCodeProblem b) {
+        return Objects.equals(a.getProblemName(), b.getProblemName())
+            && Objects.equals(a.getAcceptanceRate(), b.getAcceptanceRate())
+            && a.getDifficulty() == b.getDifficulty()
+            && Objects.equals(a.getUrl(), b.getUrl());
+    }
+}
@@ -0,0 +1,77 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemAskHistory;
+import com.pyrem.leetcodebot.model.TimeRange;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives the problem set of every time range from a company's ask history
+ * Each range counts only the asks that fall inside it and ranks its problems by that count,
+ * so one upstream fetch yields all five sets with their own frequency ordering.
+ */
+public final class ProblemSetDeriver {
+
+    private static final TimeRange[] TIME_RANGES = TimeRange.values();
+
+    private ProblemSetDeriver() {
+    }
+
+    /**
+     * Problem sets for every time range, ordered by frequency (asks in range relative to the most asked problem)
+     * Ranges without any asks map to an empty list.
+     */
+    public static Map<TimeRange, List<LeetCodeProblem>> derive(List<ProblemAskHistory> history, LocalDate today) {
+        // Single pass over all asks: counts[problem][range]
+        int[][] counts = new int[history.size()][TIME_RANGES.length];
+        int[] maxCounts = new int[TIME_RANGES.length];
+
+        for (int p = 0; p < history.size(); p++) {
+            for (LocalDate asked : history.get(p).getAskedDates()) {
+                long daysAgo = ChronoUnit.DAYS.between(asked, today);
+                for (TimeRange timeRange : TIME_RANGES) {
+                    if (timeRange.contains(daysAgo)) {
+                        counts[p][timeRange.ordinal()]++;
+                    }
+                }
+            }
+            for (int r = 0; r < TIME_RANGES.length; r++) {
+                maxCounts[r] = Math.max(maxCounts[r], counts[p][r]);
+            }
+        }
+
+        Map<TimeRange, List<LeetCodeProblem>> sets = new EnumMap<>(TimeRange.class);
+        for (TimeRange timeRange : TIME_RANGES) {
+            int r = timeRange.ordinal();
+            List<LeetCodeProblem> problems = new ArrayList<>();
+            for (int p = 0; p < history.size(); p++) {
+                if (counts[p][r] > 0) {
+                    problems.add(toProblem(history.get(p), (double) counts[p][r] / maxCounts[r]));
+                }
+            }
+            problems.sort(Comparator.comparing(LeetCodeProblem::getFrequency).reversed()
+                .thenComparing(LeetCodeProblem::getProblemNumber));
+            sets.put(timeRange, problems);
+        }
+
+        return sets;
+    }
+
+    private static LeetCodeProblem toProblem(ProblemAskHistory entry, double frequency) {
+        return LeetCodeProblem.builder()
+            .problemNumber(entry.getProblemNumber())
+            .problemName(entry.getProblemName())
+            .acceptanceRate(entry.getAcceptanceRate())
+            .difficulty(entry.getDifficulty())
+            .frequency(frequency)
+            .url(entry.getUrl())
+            .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs background refreshes of problem sets on a small bounded executor
+ * Each problem set is scheduled at most once at a time, with a random delay so expiring sets do not refresh in lockstep
+ */
+@Component
+@Slf4j
+public class ProblemSetRefresher {
+
+    private final Set<ProblemSetKey> scheduled = ConcurrentHashMap.newKeySet();
+
+    private final Counter scheduledCounter;
+    private final Counter droppedCounter;
+
+    private ScheduledExecutorService executor;
+
+    @Value("${leetcode.refresh.pool.size:2}")
+    private int poolSize;
+
+    @Value("${leetcode.refresh.queue.capacity:100}")
+    private int queueCapacity;
+
+    @Value("${leetcode.refresh.jitter.seconds:30}")
+    private int jitterSeconds;
+
+    public ProblemSetRefresher(MeterRegistry meterRegistry) {
+        this.scheduledCounter = meterRegistry.counter("leetcode.refresh.scheduled");
+        this.droppedCounter = meterRegistry.counter("leetcode.refresh.dropped");
+    }
+
+    @PostConstruct
+    public void initialize() {
+        executor = Executors.newScheduledThreadPool(poolSize,
+            Thread.ofPlatform().name("problem-refresh-", 0).daemon().factory());
+    }
+
+    /**
+     * Schedule a background refresh with jitter
+     *
+     * @return false if the set is already scheduled or the refresh queue is full
+     */
+    public boolean schedule(ProblemSetKey key, Runnable refresh) {
+        return schedule(key, refresh, jitterSeconds > 0
+            ? ThreadLocalRandom.current().nextLong(TimeUnit.SECONDS.toMillis(jitterSeconds) + 1)
+            : 0);
+    }
+
+    /**
+     * Schedule a background refresh after a fixed delay
+     */
+    public boolean schedule(ProblemSetKey key, Runnable refresh, long delayMillis) {
+        if (scheduled.size() >= queueCapacity) {
+            droppedCounter.increment();
+            log.warn("Refresh queue full, dropping refresh of {}", key);
+            return false;
+        }
+
+        if (!scheduled.add(key)) {
+            return false;
+        }
+
+        scheduledCounter.increment();
+        executor.schedule(() -> {
+            try {
+                log.info("Refreshing problem set in background: {}", key);
+                refresh.run();
+            } catch (Exception e) {
+                log.error("Background refresh of {} failed: {}", key, e.getMessage(), e);
+            } finally {
+                scheduled.remove(key);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
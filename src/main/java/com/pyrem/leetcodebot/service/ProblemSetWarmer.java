@@ -0,0 +1,145 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.model.CachedProblemSet;
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import com.pyrem.leetcodebot.model.TimeRange;
+import com.pyrem.leetcodebot.repository.ProblemSetRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps popular problem sets warm in the in-memory and database caches
+ * Warms up on startup before Discord traffic is accepted, then periodically refreshes the hot list
+ * ahead of expiry, spreading the refreshes over the last part of the expiry window
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProblemSetWarmer {
+
+    private final LeetCodeService leetCodeService;
+    private final ProblemSetRegistry problemSetRegistry;
+    private final RequestFrequencyTracker requestFrequencyTracker;
+    private final ProblemSetRefresher problemSetRefresher;
+
+    @Value("${leetcode.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${leetcode.warmup.companies:}")
+    private List<String> seedCompanies;
+
+    @Value("${leetcode.warmup.hot.size:20}")
+    private int hotSetSize;
+
+    @Value("${leetcode.warmup.refresh.window.hours:72}")
+    private long refreshWindowHours;
+
+    @Value("${leetcode.cache.expiry.days:30}")
+    private int cacheExpiryDays;
+
+    /**
+     * Startup warm phase: load the most recently used cached sets into memory
+     * and resolve the configured seed companies
+     */
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        log.info("Warming up problem set caches...");
+
+        List<CachedProblemSet> recent = problemSetRegistry.findAll().stream()
+            .sorted(Comparator.comparing(CachedProblemSet::getLastUpdated).reversed())
+            .limit(hotSetSize)
+            .toList();
+
+        for (CachedProblemSet cached : recent) {
+            warm(cached.getCompanyName(), TimeRange.fromString(cached.getTimeRange()), true);
+        }
+
+        int seeded = 0;
+        for (String company : seedCompanies) {
+            if (!company.isBlank()) {
+                warm(company.trim(), null, false);
+                seeded++;
+            }
+        }
+
+        log.info("Warm-up finished in {} ms ({} cached sets, {} seed companies)",
+            System.currentTimeMillis() - start, recent.size(), seeded);
+    }
+
+    /**
+     * Warming is not user demand, so it goes through the path that skips the request frequency tracker
+     */
+    private void warm(String company, TimeRange timeRange, boolean explicitTimeRange) {
+        try {
+            leetCodeService.warmProblemSet(company, timeRange, explicitTimeRange);
+        } catch (Exception e) {
+            log.warn("Failed to warm problem set for {} {}: {}", company, timeRange, e.getMessage());
+        }
+    }
+
+    /**
+     * Refresh hot problem sets before they expire
+     */
+    @Scheduled(fixedDelayString = "${leetcode.warmup.interval.minutes:30}",
+        initialDelayString = "${leetcode.warmup.interval.minutes:30}", timeUnit = TimeUnit.MINUTES)
+    public void refreshHotSets() {
+        if (!enabled) {
+            return;
+        }
+
+        List<RequestFrequencyTracker.HotSet> hotSets = requestFrequencyTracker.getHotSets(hotSetSize);
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> refreshedCompanies = new HashSet<>();
+        int scheduled = 0;
+
+        for (RequestFrequencyTracker.HotSet hot : hotSets) {
+            ProblemSetKey key = hot.key();
+            LocalDateTime lastUpdated = problemSetRegistry.find(key.company(), key.timeRange())
+                .map(CachedProblemSet::getLastUpdated)
+                .orElse(null);
+
+            if (lastUpdated == null || !now.isBefore(refreshTime(key, lastUpdated))) {
+                // One refresh covers all ranges of the company when ranges are derived
+                if (leetCodeService.isDerivingRanges() && !refreshedCompanies.add(key.company())) {
+                    continue;
+                }
+                boolean accepted = problemSetRefresher.schedule(key,
+                    () -> leetCodeService.refreshProblemSet(hot.displayCompany(), key.timeRange()));
+                scheduled += accepted ? 1 : 0;
+            }
+        }
+
+        requestFrequencyTracker.decay();
+        log.info("Hot set refresh: {} hot sets, {} refreshes scheduled", hotSets.size(), scheduled);
+    }
+
+    /**
+     * Each set gets a stable point inside the refresh window before its expiry,
+     * so hot sets updated together do not all refresh at the same time
+     */
+    private LocalDateTime refreshTime(ProblemSetKey key, LocalDateTime lastUpdated) {
+        long windowMinutes = Math.min(Duration.ofHours(refreshWindowHours).toMinutes(),
+            Duration.ofDays(cacheExpiryDays).toMinutes());
+        long offsetMinutes = windowMinutes > 0
+            ? Math.floorMod(Objects.hash(key.company(), key.timeRange().getKey()), windowMinutes)
+            : 0;
+
+        return lastUpdated.plusDays(cacheExpiryDays).minusMinutes(windowMinutes - offsetMinutes);
+    }
+}
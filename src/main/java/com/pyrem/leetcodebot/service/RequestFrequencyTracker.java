@@ -0,0 +1,60 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how often each company/time-range problem set is requested
+ * Counts decay over time so the hot list follows recent traffic
+ */
+@Component
+public class RequestFrequencyTracker {
+
+    /**
+     * Request count for a problem set plus the company name as last requested by a user
+     */
+    public record HotSet(ProblemSetKey key, String displayCompany, long count) {
+    }
+
+    private static class Stats {
+        private final AtomicLong count = new AtomicLong();
+        private volatile String displayCompany;
+    }
+
+    private final Map<ProblemSetKey, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Record a request for a problem set
+     */
+    public void record(ProblemSetKey key, String displayCompany) {
+        Stats entry = stats.computeIfAbsent(key, k -> new Stats());
+        entry.displayCompany = displayCompany;
+        entry.count.incrementAndGet();
+    }
+
+    /**
+     * Get the most requested problem sets, most popular first
+     */
+    public List<HotSet> getHotSets(int limit) {
+        return stats.entrySet().stream()
+            .map(e -> new HotSet(e.getKey(), e.getValue().displayCompany, e.getValue().count.get()))
+            .filter(hot -> hot.count() > 0)
+            .sorted(Comparator.comparingLong(HotSet::count).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Halve all counts and forget problem sets that are no longer requested
+     */
+    public void decay() {
+        stats.values().forEach(entry -> entry.count.updateAndGet(count -> count / 2));
+        stats.values().removeIf(entry -> entry.count.get() == 0);
+    }
+}
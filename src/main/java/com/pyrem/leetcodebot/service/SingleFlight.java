@@ -0,0 +1,98 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.repository.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent calls for the same key: the first caller runs the work,
+ * every caller arriving while it is in flight waits on the same result future
+ * A flight ends when the leader's transaction completes, so waiters never act on uncommitted data
+ * and no new flight for the key starts before the leader's writes are visible.
+ */
+public class SingleFlight<K, V> {
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final Thread leader = Thread.currentThread();
+
+        /**
+         * Set by the leader once the supplier returned, read only by the leader
+         */
+        private boolean computed;
+        private V result;
+    }
+
+    private final ConcurrentMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+
+    public SingleFlight(Counter coalescedCounter) {
+        this.coalescedCounter = coalescedCounter;
+    }
+
+    /**
+     * Run the supplier for this key, or join the call already in flight for it
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            if (existing.leader == Thread.currentThread()) {
+                // Re-entered by the leader before its transaction completed: it already sees its own writes
+                return existing.computed ? existing.result : supplier.get();
+            }
+            coalescedCounter.increment();
+            return await(existing.future);
+        }
+
+        V result;
+        try {
+            result = supplier.get();
+        } catch (Throwable e) {
+            // Errors too, otherwise every coalesced waiter would block forever
+            inFlight.remove(key, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        }
+
+        flight.computed = true;
+        flight.result = result;
+        AfterCommit.run(
+            () -> {
+                inFlight.remove(key, flight);
+                flight.future.complete(result);
+            },
+            () -> {
+                inFlight.remove(key, flight);
+                flight.future.completeExceptionally(new IllegalStateException("Coalesced call rolled back"));
+            });
+        return result;
+    }
+
+    /**
+     * Wait for the leader's result; interruptible, so a caller's deadline can cancel the wait
+     */
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Coalesced call failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for coalesced call", e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import com.pyrem.leetcodebot.repository.DynamicProblemSetRepository;
+import com.pyrem.leetcodebot.repository.PartitionedProblemSetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Online migration of legacy per-company tables into the partitioned problem store
+ * Runs in the background after startup, one problem set per transaction, while the bot keeps serving requests
+ */
+@Service
+@ConditionalOnProperty(name = "leetcode.storage.mode", havingValue = "partitioned")
+@RequiredArgsConstructor
+@Slf4j
+public class StorageMigrationService {
+
+    private final PartitionedProblemSetRepository partitionedProblemSetRepository;
+    private final DynamicProblemSetRepository dynamicProblemSetRepository;
+
+    @Value("${leetcode.storage.migrate.enabled:true}")
+    private boolean migrateEnabled;
+
+    @Value("${leetcode.storage.migrate.drop.legacy:false}")
+    private boolean dropLegacyTables;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        Set<ProblemSetKey> pending = partitionedProblemSetRepository.getPendingMigrations();
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (!migrateEnabled) {
+            log.info("Storage migration disabled, {} problem sets stay in legacy tables (served read-through)",
+                pending.size());
+            return;
+        }
+
+        Thread.ofVirtual().name("storage-migration").start(() -> migrate(pending));
+    }
+
+    private void migrate(Set<ProblemSetKey> pending) {
+        log.info("Migrating {} legacy problem set tables into company_problems", pending.size());
+        int migrated = 0;
+
+        for (ProblemSetKey key : pending) {
+            try {
+                String legacyTable = partitionedProblemSetRepository.migrateLegacyTable(key);
+                if (legacyTable == null) {
+                    continue;
+                }
+
+                migrated++;
+                if (dropLegacyTables) {
+                    dynamicProblemSetRepository.dropTable(legacyTable);
+                }
+            } catch (Exception e) {
+                log.error("Failed to migrate problem set {}: {}", key, e.getMessage(), e);
+            }
+        }
+
+        log.info("Storage migration finished, migrated {} of {} problem sets", migrated, pending.size());
+    }
+}
@@ -0,0 +1,174 @@
+package com.pyrem.leetcodebot.discord;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for Discord's create-message route, POST /channels/{id}/messages
+ * Each channel is its own rate limit bucket of `limit` requests per fixed window, answered with Discord's
+ * X-RateLimit-* headers; requests over the limit get a 429 and are not recorded.
+ * The base URL can also be set as discord.bot.rest.base.url to point a running bot at it.
+ */
+class FakeDiscordApi implements AutoCloseable {
+
+    private static final Pattern CREATE_MESSAGE = Pattern.compile("/channels/(\\d+)/messages");
+
+    private static final class Bucket {
+
+        private int used;
+        private long resetAt;
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final int limit;
+    private final long windowMillis;
+
+    /**
+     * Guarded by this
+     */
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final Map<String, List<String>> received = new HashMap<>();
+    private int accepted;
+    private int rateLimited;
+    private long nextMessageId = 1;
+
+    FakeDiscordApi(int limit, Duration window) throws IOException {
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/channels/", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Contents accepted for a channel, in arrival order
+     */
+    synchronized List<String> received(String channelId) {
+        return List.copyOf(received.getOrDefault(channelId, List.of()));
+    }
+
+    synchronized int rateLimited() {
+        return rateLimited;
+    }
+
+    /**
+     * Wait until this many messages were accepted across all channels
+     *
+     * @return false if the timeout elapsed first
+     */
+    synchronized boolean awaitAccepted(int messages, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (accepted < messages) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        return true;
+    }
+
+    /**
+     * Wait until this many messages were accepted for one channel
+     *
+     * @return false if the timeout elapsed first
+     */
+    synchronized boolean awaitReceived(String channelId, int messages, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (received(channelId).size() < messages) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        return true;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Matcher matcher = CREATE_MESSAGE.matcher(exchange.getRequestURI().getPath());
+            if (!"POST".equals(exchange.getRequestMethod()) || !matcher.matches()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            String channelId = matcher.group(1);
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            String content = body.path("content").asText();
+
+            int status;
+            String response;
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                Bucket bucket = buckets.computeIfAbsent(channelId, id -> new Bucket());
+                if (now >= bucket.resetAt) {
+                    bucket.used = 0;
+                    bucket.resetAt = now + windowMillis;
+                }
+
+                double resetAfter = (bucket.resetAt - now) / 1000d;
+                exchange.getResponseHeaders().add("X-RateLimit-Limit", String.valueOf(limit));
+                exchange.getResponseHeaders().add("X-RateLimit-Reset-After", String.valueOf(resetAfter));
+                exchange.getResponseHeaders().add("X-RateLimit-Bucket", "channel-" + channelId);
+
+                if (bucket.used >= limit) {
+                    rateLimited++;
+                    exchange.getResponseHeaders().add("X-RateLimit-Remaining", "0");
+                    exchange.getResponseHeaders().add("X-RateLimit-Scope", "user");
+                    exchange.getResponseHeaders().add("Retry-After", String.valueOf((long) Math.ceil(resetAfter)));
+                    status = 429;
+                    response = objectMapper.createObjectNode()
+                        .put("message", "You are being rate limited.")
+                        .put("retry_after", resetAfter)
+                        .put("global", false)
+                        .toString();
+                } else {
+                    bucket.used++;
+                    exchange.getResponseHeaders().add("X-RateLimit-Remaining", String.valueOf(limit - bucket.used));
+                    received.computeIfAbsent(channelId, id -> new ArrayList<>()).add(content);
+                    accepted++;
+                    notifyAll();
+                    status = 200;
+                    response = objectMapper.createObjectNode()
+                        .put("id", String.valueOf(nextMessageId++))
+                        .put("channel_id", channelId)
+                        .put("content", content)
+                        .toString();
+                }
+            }
+
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,195 @@
+package com.pyrem.leetcodebot.discord;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.requests.restaction.MessageCreateAction;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the scheduler against FakeDiscordApi: channels whose sends POST to the fake create-message route,
+ * which answers with 429s whenever a channel exceeds its per-window limit
+ */
+class OutboundMessageSchedulerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FakeDiscordApi discord;
+    private OutboundMessageScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (discord != null) {
+            discord.close();
+        }
+    }
+
+    private void start(int limitPerSecond, int channelBurst, double channelPerSecond) throws IOException {
+        discord = new FakeDiscordApi(limitPerSecond, Duration.ofSeconds(1));
+        scheduler = new OutboundMessageScheduler(meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "channelBurst", channelBurst);
+        ReflectionTestUtils.setField(scheduler, "channelPerSecond", channelPerSecond);
+        ReflectionTestUtils.setField(scheduler, "globalBurst", 50);
+        ReflectionTestUtils.setField(scheduler, "globalPerSecond", 50.0);
+        ReflectionTestUtils.setField(scheduler, "maxQueued", 100);
+        scheduler.start();
+    }
+
+    /**
+     * A channel whose sends are POSTed to the fake API; a 429 fails the send like a rejected REST call
+     */
+    private MessageChannel channel(String id) {
+        MessageChannel channel = mock(MessageChannel.class);
+        when(channel.getId()).thenReturn(id);
+        when(channel.sendMessage(any(MessageCreateData.class))).thenAnswer(invocation -> {
+            MessageCreateData message = invocation.getArgument(0);
+            MessageCreateAction action = mock(MessageCreateAction.class);
+            doAnswer(queued -> {
+                Consumer<? super Message> success = queued.getArgument(0);
+                Consumer<? super Throwable> failure = queued.getArgument(1);
+                int status = post(id, message.getContent());
+                if (status == 200) {
+                    success.accept(null);
+                } else {
+                    failure.accept(new IllegalStateException("HTTP " + status));
+                }
+                return null;
+            }).when(action).queue(any(), any());
+            return action;
+        });
+        return channel;
+    }
+
+    private int post(String channelId, String content) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(discord.baseUrl() + "channels/" + channelId + "/messages"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                objectMapper.createObjectNode().put("content", content).toString()))
+            .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private double failed() {
+        return meterRegistry.counter("discord.outbound.failed").count();
+    }
+
+    @Test
+    void pacesEveryChannelBelowTheRouteLimit() throws Exception {
+        // At most 2 + 3 sends in any one-second window, one below the fake's limit to absorb network jitter
+        start(6, 2, 3.0);
+        MessageChannel first = channel("1");
+        MessageChannel second = channel("2");
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.send(first, "first " + i, OutboundMessageScheduler.Priority.BULK);
+            scheduler.send(second, "second " + i, OutboundMessageScheduler.Priority.BULK);
+        }
+
+        assertThat(discord.awaitAccepted(20, TIMEOUT)).isTrue();
+        assertThat(discord.rateLimited()).isZero();
+        assertThat(failed()).isZero();
+        assertThat(discord.received("1")).containsExactly(
+            "first 0", "first 1", "first 2", "first 3", "first 4",
+            "first 5", "first 6", "first 7", "first 8", "first 9");
+        assertThat(scheduler.getQueued()).isZero();
+    }
+
+    @Test
+    void interactiveRepliesOvertakeQueuedBulkMessages() throws Exception {
+        start(10, 1, 5.0);
+        MessageChannel channel = channel("1");
+
+        for (int i = 0; i < 4; i++) {
+            scheduler.send(channel, "bulk " + i, OutboundMessageScheduler.Priority.BULK);
+        }
+        scheduler.send(channel, "reply", OutboundMessageScheduler.Priority.INTERACTIVE);
+
+        assertThat(discord.awaitAccepted(5, TIMEOUT)).isTrue();
+        List<String> received = discord.received("1");
+        // The first bulk message may already be on its way when the reply is queued
+        assertThat(received.indexOf("reply")).isLessThanOrEqualTo(1);
+        assertThat(received.stream().filter(content -> content.startsWith("bulk")).toList())
+            .containsExactly("bulk 0", "bulk 1", "bulk 2", "bulk 3");
+    }
+
+    @Test
+    void throttledChannelDoesNotHoldUpOthers() throws Exception {
+        start(10, 1, 2.0);
+        MessageChannel busy = channel("1");
+        MessageChannel quiet = channel("2");
+
+        for (int i = 0; i < 6; i++) {
+            scheduler.send(busy, "busy " + i, OutboundMessageScheduler.Priority.BULK);
+        }
+        scheduler.send(quiet, "quiet", OutboundMessageScheduler.Priority.BULK);
+
+        assertThat(discord.awaitReceived("2", 1, Duration.ofSeconds(1))).isTrue();
+        assertThat(discord.received("1").size()).isLessThan(6);
+    }
+
+    @Test
+    void dropsSendsOverTheQueueCapAndQueuedMessagesOnShutdown() throws Exception {
+        start(10, 1, 0.5);
+        ReflectionTestUtils.setField(scheduler, "maxQueued", 3);
+        MessageChannel channel = channel("1");
+
+        for (int i = 0; i < 6; i++) {
+            scheduler.send(channel, "message " + i, OutboundMessageScheduler.Priority.BULK);
+        }
+        assertThat(scheduler.getQueued()).isLessThanOrEqualTo(3);
+
+        // Only the first message gets a channel token before shutdown, the rest are rejected or dropped
+        assertThat(discord.awaitReceived("1", 1, TIMEOUT)).isTrue();
+        scheduler.shutdown();
+
+        assertThat(scheduler.getQueued()).isZero();
+        assertThat(failed()).isEqualTo(5.0);
+        assertThat(discord.received("1")).containsExactly("message 0");
+    }
+
+    @Test
+    void harnessRejectsSendsOverTheLimit() throws Exception {
+        // Burst well above the fake's limit: the excess is answered with 429 and counted as failed
+        start(3, 10, 100.0);
+        MessageChannel channel = channel("1");
+
+        for (int i = 0; i < 6; i++) {
+            scheduler.send(channel, "message " + i, OutboundMessageScheduler.Priority.BULK);
+        }
+
+        assertThat(discord.awaitAccepted(3, TIMEOUT)).isTrue();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (failed() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(discord.rateLimited()).isEqualTo(3);
+        assertThat(failed()).isEqualTo(3.0);
+        assertThat(discord.received("1")).containsExactly("message 0", "message 1", "message 2");
+    }
+}
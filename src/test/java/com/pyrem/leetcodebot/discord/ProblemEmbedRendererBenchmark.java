@@ -0,0 +1,143 @@
+package com.pyrem.leetcodebot.discord;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemDifficulty;
+import com.pyrem.leetcodebot.model.ProblemSet;
+import com.pyrem.leetcodebot.model.ProblemSetKey;
+import com.pyrem.leetcodebot.model.TimeRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.Color;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one company's problem list into Discord embeds
+ * "legacy" is the original per-request rendering (String.format, Color.decode, bars built per call),
+ * "uncached" is ProblemEmbedRenderer on a set version it has not seen,
+ * "cached" is a repeated request for an unchanged set
+ *
+ * Run as described under "Benchmarks" in the README
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemEmbedRendererBenchmark {
+
+    private static final String COMPANY = "Google";
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param({"10", "50"})
+    private int problemCount;
+
+    private ProblemEmbedRenderer renderer;
+    private List<LeetCodeProblem> problems;
+    private ProblemSet problemSet;
+    private long versions;
+
+    @Setup
+    public void setUp() {
+        renderer = new ProblemEmbedRenderer(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(renderer, "maxEntries", 200);
+
+        ProblemDifficulty[] difficulties = ProblemDifficulty.values();
+        problems = new ArrayList<>(problemCount);
+        for (int i = 1; i <= problemCount; i++) {
+            problems.add(LeetCodeProblem.builder()
+                .problemNumber(i)
+                .problemName("Longest Substring Without Repeating Characters " + i)
+                .acceptanceRate(0.3 + (i % 60) / 100.0)
+                .difficulty(difficulties[i % difficulties.length])
+                .frequency(1.0 - (double) i / problemCount)
+                .url("https://leetcode.com/problems/longest-substring-without-repeating-characters-" + i + "/")
+                .build());
+        }
+
+        problemSet = new ProblemSet(new ProblemSetKey("google", TimeRange.LAST_30_DAYS), problems, VERSION);
+        renderer.render(COMPANY, problemSet);
+    }
+
+    @Benchmark
+    public List<MessageEmbed> legacy() {
+        List<MessageEmbed> embeds = new ArrayList<>(problems.size() + 1);
+        embeds.add(new EmbedBuilder()
+            .setTitle(String.format("📋 %s LeetCode Problems", COMPANY))
+            .setDescription(String.format("Found **%d** problems", problems.size()))
+            .setColor(Color.decode("#FFA116"))
+            .build());
+        for (LeetCodeProblem problem : problems) {
+            embeds.add(legacyProblemEmbed(problem));
+        }
+        return embeds;
+    }
+
+    @Benchmark
+    public ProblemEmbedRenderer.RenderedProblemList uncached() {
+        // A new version of the set each time, so nothing is served from the render cache
+        ProblemSet refreshed = new ProblemSet(problemSet.key(), problems, VERSION.plusNanos(++versions));
+        return renderer.render(COMPANY, refreshed);
+    }
+
+    @Benchmark
+    public ProblemEmbedRenderer.RenderedProblemList cached() {
+        return renderer.render(COMPANY, problemSet);
+    }
+
+    /**
+     * The embed DiscordBotService built per problem before ProblemEmbedRenderer
+     */
+    private static MessageEmbed legacyProblemEmbed(LeetCodeProblem problem) {
+        EmbedBuilder embed = new EmbedBuilder();
+        embed.setTitle(String.format("%d. %s", problem.getProblemNumber(), problem.getProblemName()), problem.getUrl());
+
+        Color color = switch (problem.getDifficulty()) {
+            case EASY -> Color.decode("#00B8A3");
+            case MEDIUM -> Color.decode("#FFC01E");
+            case HARD -> Color.decode("#EF4743");
+        };
+        embed.setColor(color);
+
+        StringBuilder details = new StringBuilder();
+        details.append("**Acceptance:** ").append(String.format("%.1f%%", problem.getAcceptanceRate() * 100)).append("\n");
+        details.append("**Difficulty:** ").append(problem.getDifficulty().getDisplayName()).append("\n");
+        details.append("**Frequency:** ").append(legacyFrequencyBar(problem.getFrequency()));
+        embed.setDescription(details.toString());
+
+        return embed.build();
+    }
+
+    private static String legacyFrequencyBar(Double frequency) {
+        if (frequency == null) {
+            frequency = 0.0;
+        }
+
+        int barLength = Math.max(0, Math.min(10, (int) Math.round(frequency * 10)));
+        StringBuilder bar = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            bar.append(i < barLength ? "█" : "░");
+        }
+        bar.append(String.format(" %.0f%%", frequency * 100));
+
+        return bar.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.pyrem.leetcodebot.discord;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private static void drain(TokenBucket bucket, int tokens, long now) {
+        for (int i = 0; i < tokens; i++) {
+            assertThat(bucket.isAvailable(now)).isTrue();
+            bucket.consume();
+        }
+    }
+
+    @Test
+    void startsFullAndAllowsABurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0);
+
+        assertThat(bucket.isFull(0)).isTrue();
+        drain(bucket, 3, 0);
+
+        assertThat(bucket.isAvailable(0)).isFalse();
+    }
+
+    @Test
+    void refillsContinuouslyAtTheRate() {
+        TokenBucket bucket = new TokenBucket(2, 4.0, 0);
+        drain(bucket, 2, 0);
+
+        assertThat(bucket.isAvailable(SECOND / 8)).isFalse();
+        assertThat(bucket.isAvailable(SECOND / 4 + 1_000)).isTrue();
+    }
+
+    @Test
+    void reportsTheWaitUntilTheNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 2.0, 0);
+        drain(bucket, 1, 0);
+
+        // Rounded up to whole nanoseconds
+        assertThat(bucket.nanosUntilAvailable(0)).isBetween(SECOND / 2, SECOND / 2 + 1);
+        assertThat(bucket.nanosUntilAvailable(SECOND / 4)).isBetween(SECOND / 4, SECOND / 4 + 1);
+        assertThat(bucket.nanosUntilAvailable(SECOND / 2 + 1)).isZero();
+    }
+
+    @Test
+    void noWaitWhileTokensRemain() {
+        TokenBucket bucket = new TokenBucket(2, 1.0, 0);
+        bucket.consume();
+
+        assertThat(bucket.nanosUntilAvailable(0)).isZero();
+    }
+
+    @Test
+    void neverRefillsBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 10.0, 0);
+
+        drain(bucket, 2, 60 * SECOND);
+
+        assertThat(bucket.isAvailable(60 * SECOND)).isFalse();
+    }
+
+    @Test
+    void isFullOnlyOnceEveryTokenIsBack() {
+        TokenBucket bucket = new TokenBucket(2, 1.0, 0);
+        drain(bucket, 2, 0);
+
+        assertThat(bucket.isFull(SECOND)).isFalse();
+        assertThat(bucket.isFull(2 * SECOND + 1_000)).isTrue();
+    }
+
+    @Test
+    void sustainedRateMatchesTokensPerSecond() {
+        TokenBucket bucket = new TokenBucket(1, 5.0, 0);
+        int sent = 0;
+
+        // Send whenever a token is available over ten simulated seconds, polling every millisecond
+        for (long now = 0; now <= 10 * SECOND; now += SECOND / 1000) {
+            if (bucket.isAvailable(now)) {
+                bucket.consume();
+                sent++;
+            }
+        }
+
+        assertThat(sent).isBetween(50, 51);
+    }
+}
@@ -0,0 +1,90 @@
+package com.pyrem.leetcodebot.nlp;
+
+import com.pyrem.leetcodebot.model.CachedProblemSet;
+import com.pyrem.leetcodebot.repository.ProblemSetRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompanyDictionaryTest {
+
+    private ProblemSetRegistry registry;
+    private CompanyDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        registry = mock(ProblemSetRegistry.class);
+        when(registry.findAll()).thenReturn(List.of());
+
+        dictionary = new CompanyDictionary(registry);
+        ReflectionTestUtils.setField(dictionary, "companies",
+            List.of("Google", "Meta", "America", "Bank of America", "Goldman Sachs", "Nestlé"));
+        ReflectionTestUtils.setField(dictionary, "aliases", List.of("fb:Meta", "goog:Google"));
+        dictionary.initialize();
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        assertThat(dictionary.findCompanies("show me metadata from googleplex")).isEmpty();
+        assertThat(dictionary.containsAny("metadata googleplex")).isFalse();
+
+        assertThat(dictionary.findCompanies("meta")).containsExactly("Meta");
+        assertThat(dictionary.findCompanies("(meta), google!")).containsExactly("Meta", "Google");
+    }
+
+    @Test
+    void foldsCaseAndCollapsesSeparators() {
+        assertThat(dictionary.findCompanies("GOOGLE   and   goldman---sachs??"))
+            .containsExactly("Google", "Goldman Sachs");
+    }
+
+    @Test
+    void resolvesAliasesToCanonicalNames() {
+        assertThat(dictionary.findCompanies("fb and goog please")).containsExactly("Meta", "Google");
+        assertThat(dictionary.lookup("fb")).isEqualTo("Meta");
+        assertThat(dictionary.findCompanies("fb meta facebook")).containsExactly("Meta");
+    }
+
+    @Test
+    void prefersTheLongestOverlappingPhrase() {
+        assertThat(dictionary.findCompanies("bank of america and america")).containsExactly("Bank of America", "America");
+        assertThat(dictionary.findCompanies("bank of america")).containsExactly("Bank of America");
+    }
+
+    @Test
+    void distinguishesNonAsciiLetters() {
+        assertThat(dictionary.findCompanies("nestlé and NESTLÉ")).containsExactly("Nestlé");
+        assertThat(dictionary.findCompanies("nestlè")).isEmpty();
+        assertThat(dictionary.findCompanies("nestle")).isEmpty();
+        assertThat(dictionary.containsAny("nestlè nestlø")).isFalse();
+    }
+
+    @Test
+    void requestKeywordsPassThePrefilterWithoutBeingCompanies() {
+        assertThat(dictionary.containsAny("any leetcode problems?")).isTrue();
+        assertThat(dictionary.findCompanies("any leetcode problems?")).isEmpty();
+        assertThat(dictionary.containsAny("hello there")).isFalse();
+    }
+
+    @Test
+    void picksUpCompaniesCachedAfterStartupOnRegistryChange() {
+        assertThat(dictionary.containsAny("robinhood")).isFalse();
+
+        when(registry.findAll()).thenReturn(List.of(CachedProblemSet.builder()
+            .companyName("robinhood")
+            .timeRange("last30days")
+            .tableName("robinhood_last30days")
+            .build()));
+        dictionary.onCompaniesChanged(new ProblemSetRegistry.CompaniesChanged());
+
+        assertThat(dictionary.containsAny("robinhood")).isTrue();
+        assertThat(dictionary.findCompanies("robinhood 30 days")).containsExactly("Robinhood");
+        assertThat(dictionary.lookup("robinhood")).isEqualTo("Robinhood");
+    }
+}
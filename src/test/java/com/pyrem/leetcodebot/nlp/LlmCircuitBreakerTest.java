@@ -0,0 +1,155 @@
+package com.pyrem.leetcodebot.nlp;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmCircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 200;
+
+    private LlmCircuitBreaker breaker(long slowCallMillis) {
+        return breaker(slowCallMillis, new SimpleMeterRegistry());
+    }
+
+    private LlmCircuitBreaker breaker(long slowCallMillis, SimpleMeterRegistry registry) {
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(registry);
+        ReflectionTestUtils.setField(breaker, "enabled", true);
+        ReflectionTestUtils.setField(breaker, "windowSize", 4);
+        ReflectionTestUtils.setField(breaker, "minCalls", 4);
+        ReflectionTestUtils.setField(breaker, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(breaker, "slowCallMillis", slowCallMillis);
+        ReflectionTestUtils.setField(breaker, "baseOpenMillis", OPEN_MILLIS);
+        ReflectionTestUtils.setField(breaker, "maxOpenMillis", 10_000L);
+        ReflectionTestUtils.setField(breaker, "halfOpenProbes", 2);
+        breaker.initialize();
+        return breaker;
+    }
+
+    private static void succeed(LlmCircuitBreaker breaker) {
+        breaker.execute(() -> "ok");
+    }
+
+    private static void fail(LlmCircuitBreaker breaker) {
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new IllegalStateException("model host down");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void open(LlmCircuitBreaker breaker) {
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        fail(breaker);
+    }
+
+    @Test
+    void staysClosedUntilTheWindowHasMinCalls() {
+        LlmCircuitBreaker breaker = breaker(5_000);
+
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        assertThat(breaker.isRejecting()).isFalse();
+    }
+
+    @Test
+    void opensAtFailureRateAndRejectsWithoutCalling() {
+        LlmCircuitBreaker breaker = breaker(5_000);
+        open(breaker);
+
+        AtomicInteger attempts = new AtomicInteger();
+        assertThatThrownBy(() -> breaker.execute(attempts::incrementAndGet))
+            .isInstanceOf(LlmCircuitBreaker.OpenException.class);
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+        assertThat(breaker.isRejecting()).isTrue();
+        assertThat(attempts.get()).isZero();
+    }
+
+    @Test
+    void countsSlowSuccessfulCallsAsBad() {
+        LlmCircuitBreaker breaker = breaker(0);
+
+        for (int i = 0; i < 4; i++) {
+            breaker.execute(() -> {
+                sleep(2);
+                return "slow";
+            });
+        }
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        LlmCircuitBreaker breaker = breaker(5_000);
+        open(breaker);
+        sleep(OPEN_MILLIS + 50);
+
+        succeed(breaker);
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+        succeed(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        assertThat(breaker.isRejecting()).isFalse();
+    }
+
+    @Test
+    void failedProbeReopensForTwiceAsLong() {
+        LlmCircuitBreaker breaker = breaker(5_000);
+        open(breaker);
+        sleep(OPEN_MILLIS + 50);
+
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+
+        // Past the base open period, but not past the doubled one
+        sleep(OPEN_MILLIS + 50);
+        assertThat(breaker.isRejecting()).isTrue();
+    }
+
+    @Test
+    void errorInProbeCountsAsFailure() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LlmCircuitBreaker breaker = breaker(5_000, registry);
+        open(breaker);
+        sleep(OPEN_MILLIS + 50);
+
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+        // Two failures while closed plus the failed probe
+        assertThat(registry.counter("nlp.llm.calls", "outcome", "error").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void passesEverythingThroughWhenDisabled() {
+        LlmCircuitBreaker breaker = breaker(5_000);
+        ReflectionTestUtils.setField(breaker, "enabled", false);
+
+        for (int i = 0; i < 10; i++) {
+            fail(breaker);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        assertThat(breaker.isRejecting()).isFalse();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.pyrem.leetcodebot.nlp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message overhead of RequestParserService around the LLM call, with the model stubbed out
+ * "legacy" is the original path (ChatClient and PromptTemplate built per message, regex JSON cleanup),
+ * "current" is the shared client, pre-compiled prompt and StreamingJsonExtractor
+ *
+ * Run as described under "Benchmarks" in the README
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestParserBenchmark {
+
+    /**
+     * Typical small-model output: fenced JSON followed by chatter
+     */
+    private static final String RESPONSE = """
+        ```json
+        {"companies": ["Google", "Amazon"], "timeRange": "last3months", "explicitTimeRange": true}
+        ```
+        I extracted the companies and time range from your message.
+        """;
+
+    private static final String MESSAGE = "can I get google and amazon problems from the last 3 months?";
+
+    private ChatModel chatModel;
+    private ChatClient sharedClient;
+
+    @Setup
+    public void setUp() {
+        chatModel = new ChatModel() {
+            @Override
+            public ChatResponse call(Prompt prompt) {
+                return new ChatResponse(List.of(new Generation(new AssistantMessage(RESPONSE))));
+            }
+        };
+        sharedClient = ChatClient.builder(chatModel).build();
+    }
+
+    @Benchmark
+    public String legacy() {
+        ChatClient chatClient = ChatClient.builder(chatModel).build();
+        Prompt prompt = new PromptTemplate(RequestParserService.PARSING_PROMPT).create(Map.of("message", MESSAGE));
+        String response = chatClient.prompt(prompt).call().content();
+        return legacyExtractJson(response);
+    }
+
+    @Benchmark
+    public String current() {
+        String response = sharedClient.prompt(new Prompt(new UserMessage(RequestParserService.buildPrompt(MESSAGE))))
+            .call()
+            .content();
+        return StreamingJsonExtractor.extract(response);
+    }
+
+    /**
+     * The regex-based cleanup RequestParserService used before StreamingJsonExtractor
+     */
+    private static String legacyExtractJson(String response) {
+        String cleaned = response.replaceAll("```json\\s*", "")
+            .replaceAll("```\\s*", "")
+            .trim();
+
+        int startIdx = cleaned.indexOf('{');
+        int endIdx = cleaned.lastIndexOf('}');
+
+        if (startIdx >= 0 && endIdx > startIdx) {
+            return cleaned.substring(startIdx, endIdx + 1);
+        }
+
+        return cleaned;
+    }
+}
@@ -0,0 +1,59 @@
+package com.pyrem.leetcodebot.nlp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingJsonExtractorTest {
+
+    @Test
+    void extractsObjectFromFencedResponseWithChatter() {
+        String response = """
+            Sure! Here is the result:
+            ```json
+            {"companies": ["Google"], "timeRange": "last30days", "explicitTimeRange": true}
+            ```
+            Let me know if you need anything else {or not}.
+            """;
+
+        assertThat(StreamingJsonExtractor.extract(response))
+            .isEqualTo("{\"companies\": [\"Google\"], \"timeRange\": \"last30days\", \"explicitTimeRange\": true}");
+    }
+
+    @Test
+    void ignoresBracesAndEscapedQuotesInsideStrings() {
+        String json = "{\"name\": \"a } b \\\" { c\", \"nested\": {\"x\": 1}}";
+
+        assertThat(StreamingJsonExtractor.extract(json + " trailing }")).isEqualTo(json);
+    }
+
+    @Test
+    void completesAcrossChunksAndIgnoresLaterInput() {
+        StreamingJsonExtractor extractor = StreamingJsonExtractor.forObject();
+
+        assertThat(extractor.feed("```json\n{\"compa")).isFalse();
+        assertThat(extractor.getJson()).isNull();
+        assertThat(extractor.feed("nies\": [\"Meta\"]")).isFalse();
+        assertThat(extractor.feed("}\n``` {\"second\": true}")).isTrue();
+        assertThat(extractor.feed("{\"third\": 3}")).isTrue();
+
+        assertThat(extractor.getJson()).isEqualTo("{\"companies\": [\"Meta\"]}");
+    }
+
+    @Test
+    void arrayExtractorKeepsNestedObjects() {
+        StreamingJsonExtractor extractor = StreamingJsonExtractor.forArray();
+
+        extractor.feed("[{\"index\": 1, \"companies\": [\"Apple\"]}, {\"index\": 2, \"companies\": []}] done");
+
+        assertThat(extractor.isComplete()).isTrue();
+        assertThat(extractor.getJson())
+            .isEqualTo("[{\"index\": 1, \"companies\": [\"Apple\"]}, {\"index\": 2, \"companies\": []}]");
+    }
+
+    @Test
+    void returnsNullForIncompleteOrMissingValue() {
+        assertThat(StreamingJsonExtractor.extract("no json here")).isNull();
+        assertThat(StreamingJsonExtractor.extract("{\"companies\": [\"Google\"")).isNull();
+    }
+}
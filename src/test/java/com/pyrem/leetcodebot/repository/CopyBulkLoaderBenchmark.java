@@ -0,0 +1,108 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemDifficulty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading one problem set into problem_staging with COPY vs batched INSERTs, at the current
+ * leetcode.problemset.max.size default (50) and at sizes where raising the cap would make COPY apply
+ * Each invocation is one committed transaction on a single connection, as in saveProblems.
+ *
+ * Needs a PostgreSQL database: -Dbench.jdbc.url, -Dbench.jdbc.user and -Dbench.jdbc.password
+ * Run as described under "Benchmarks" in the README
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class CopyBulkLoaderBenchmark {
+
+    @Param({"50", "5000", "500000"})
+    private int rows;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CopyBulkLoader copyBulkLoader;
+    private List<LeetCodeProblem> problems;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            throw new IllegalStateException("Set -Dbench.jdbc.url to a PostgreSQL database");
+        }
+
+        // One connection, so the session-local staging table is shared by every invocation
+        dataSource = new SingleConnectionDataSource(url, System.getProperty("bench.jdbc.user", "postgres"),
+            System.getProperty("bench.jdbc.password", ""), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        copyBulkLoader = new CopyBulkLoader(jdbcTemplate);
+
+        problems = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            problems.add(LeetCodeProblem.builder()
+                .problemNumber(i)
+                .problemName("Problem \"" + i + "\", with quotes and commas")
+                .acceptanceRate(0.3 + (i % 60) / 100.0)
+                .difficulty(ProblemDifficulty.values()[i % ProblemDifficulty.values().length])
+                .frequency(1.0 - (double) i / rows)
+                .url("https://leetcode.com/problems/problem-" + i + "/")
+                .build());
+        }
+
+        // Create the staging table up front for the batch path
+        transactionTemplate.executeWithoutResult(status -> copyBulkLoader.stage(List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Boolean copy() {
+        return transactionTemplate.execute(status -> copyBulkLoader.stage(problems));
+    }
+
+    @Benchmark
+    public int[][] batch() {
+        return transactionTemplate.execute(status -> jdbcTemplate.batchUpdate("""
+            INSERT INTO problem_staging
+                (problem_number, problem_name, acceptance_rate, difficulty, frequency, url, content_hash)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """, problems, 1000,
+            (ps, problem) -> {
+                ps.setInt(1, problem.getProblemNumber());
+                ps.setString(2, problem.getProblemName());
+                ps.setDouble(3, problem.getAcceptanceRate());
+                ps.setString(4, problem.getDifficulty().name());
+                ps.setDouble(5, problem.getFrequency());
+                ps.setString(6, problem.getUrl());
+                ps.setLong(7, ProblemSetDelta.contentHash(problem));
+            }));
+    }
+}
@@ -0,0 +1,107 @@
+package com.pyrem.leetcodebot.repository;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemDifficulty;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProblemSetDeltaTest {
+
+    private static LeetCodeProblem problem(int number, double frequency) {
+        return LeetCodeProblem.builder()
+            .problemNumber(number)
+            .problemName("Problem " + number)
+            .acceptanceRate(50.0)
+            .difficulty(ProblemDifficulty.MEDIUM)
+            .frequency(frequency)
+            .url("https://leetcode.com/problems/problem-" + number + "/")
+            .build();
+    }
+
+    private static Map<Integer, Long> stored(LeetCodeProblem... problems) {
+        Map<Integer, Long> hashes = new HashMap<>();
+        for (LeetCodeProblem problem : problems) {
+            hashes.put(problem.getProblemNumber(), ProblemSetDelta.contentHash(problem));
+        }
+        return hashes;
+    }
+
+    @Test
+    void unchangedSetProducesNoWrites() {
+        List<LeetCodeProblem> problems = List.of(problem(1, 0.9), problem(2, 0.5));
+
+        ProblemSetDelta delta = ProblemSetDelta.compute(stored(problem(1, 0.9), problem(2, 0.5)), problems);
+
+        assertThat(delta.isEmpty()).isTrue();
+    }
+
+    @Test
+    void upsertsChangedAndNewRowsAndDeletesDroppedOnes() {
+        Map<Integer, Long> hashes = stored(problem(1, 0.9), problem(2, 0.5), problem(3, 0.1));
+
+        ProblemSetDelta delta = ProblemSetDelta.compute(hashes, List.of(problem(1, 0.9), problem(2, 0.6), problem(4, 0.2)));
+
+        assertThat(delta.upserts()).containsExactly(problem(2, 0.6), problem(4, 0.2));
+        assertThat(List.of(delta.deletes())).containsExactly(3);
+        assertThat(delta.isEmpty()).isFalse();
+    }
+
+    @Test
+    void rowsWithoutStoredHashAreAlwaysRewritten() {
+        Map<Integer, Long> hashes = new HashMap<>();
+        hashes.put(1, null);
+
+        ProblemSetDelta delta = ProblemSetDelta.compute(hashes, List.of(problem(1, 0.9)));
+
+        assertThat(delta.upserts()).containsExactly(problem(1, 0.9));
+        assertThat(List.of(delta.deletes())).isEmpty();
+    }
+
+    @Test
+    void lastOccurrenceOfADuplicateNumberWins() {
+        ProblemSetDelta delta = ProblemSetDelta.compute(Map.of(), List.of(problem(1, 0.9), problem(2, 0.5), problem(1, 0.3)));
+
+        assertThat(delta.upserts()).containsExactly(problem(1, 0.3), problem(2, 0.5));
+    }
+
+    @Test
+    void contentHashCoversEveryColumn() {
+        LeetCodeProblem base = problem(1, 0.9);
+        long hash = ProblemSetDelta.contentHash(base);
+
+        assertThat(ProblemSetDelta.contentHash(problem(1, 0.9))).isEqualTo(hash);
+        assertThat(ProblemSetDelta.contentHash(problem(2, 0.9))).isNotEqualTo(hash);
+        assertThat(ProblemSetDelta.contentHash(problem(1, 0.8))).isNotEqualTo(hash);
+
+        LeetCodeProblem renamed = problem(1, 0.9);
+        renamed.setProblemName("Renamed");
+        LeetCodeProblem harder = problem(1, 0.9);
+        harder.setDifficulty(ProblemDifficulty.HARD);
+        LeetCodeProblem acceptance = problem(1, 0.9);
+        acceptance.setAcceptanceRate(51.0);
+        LeetCodeProblem moved = problem(1, 0.9);
+        moved.setUrl("https://leetcode.com/problems/renamed/");
+
+        assertThat(ProblemSetDelta.contentHash(renamed)).isNotEqualTo(hash);
+        assertThat(ProblemSetDelta.contentHash(harder)).isNotEqualTo(hash);
+        assertThat(ProblemSetDelta.contentHash(acceptance)).isNotEqualTo(hash);
+        assertThat(ProblemSetDelta.contentHash(moved)).isNotEqualTo(hash);
+    }
+
+    @Test
+    void fieldBoundariesAffectTheHash() {
+        LeetCodeProblem a = problem(1, 0.9);
+        a.setProblemName("ab");
+        a.setUrl("c");
+        LeetCodeProblem b = problem(1, 0.9);
+        b.setProblemName("a");
+        b.setUrl("bc");
+
+        assertThat(ProblemSetDelta.contentHash(a)).isNotEqualTo(ProblemSetDelta.contentHash(b));
+    }
+}
@@ -0,0 +1,118 @@
+package com.pyrem.leetcodebot.service;
+
+import com.pyrem.leetcodebot.model.LeetCodeProblem;
+import com.pyrem.leetcodebot.model.ProblemAskHistory;
+import com.pyrem.leetcodebot.model.ProblemDifficulty;
+import com.pyrem.leetcodebot.model.TimeRange;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProblemSetDeriverTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    private static ProblemAskHistory history(int number, int... daysAgo) {
+        return ProblemAskHistory.builder()
+            .problemNumber(number)
+            .problemName("Problem " + number)
+            .acceptanceRate(0.5)
+            .difficulty(ProblemDifficulty.EASY)
+            .url("https://leetcode.com/problems/problem-" + number + "/")
+            .askedDates(Arrays.stream(daysAgo).mapToObj(TODAY::minusDays).toList())
+            .build();
+    }
+
+    private static List<Integer> numbers(List<LeetCodeProblem> problems) {
+        return problems.stream().map(LeetCodeProblem::getProblemNumber).toList();
+    }
+
+    @Test
+    void derivesEveryTimeRange() {
+        Map<TimeRange, List<LeetCodeProblem>> sets = ProblemSetDeriver.derive(List.of(history(1, 5)), TODAY);
+
+        assertThat(sets).containsOnlyKeys(TimeRange.values());
+    }
+
+    @Test
+    void rangeOnlyCountsAsksInsideIt() {
+        List<ProblemAskHistory> history = List.of(
+            history(1, 10),
+            history(2, 60),
+            history(3, 150),
+            history(4, 400));
+
+        Map<TimeRange, List<LeetCodeProblem>> sets = ProblemSetDeriver.derive(history, TODAY);
+
+        assertThat(numbers(sets.get(TimeRange.LAST_30_DAYS))).containsExactly(1);
+        assertThat(numbers(sets.get(TimeRange.LAST_3_MONTHS))).containsExactly(1, 2);
+        assertThat(numbers(sets.get(TimeRange.LAST_6_MONTHS))).containsExactly(1, 2, 3);
+        assertThat(numbers(sets.get(TimeRange.MORE_THAN_6_MONTHS))).containsExactly(4);
+        assertThat(numbers(sets.get(TimeRange.ALL))).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    void rangeBoundariesAreInclusive() {
+        Map<TimeRange, List<LeetCodeProblem>> sets = ProblemSetDeriver.derive(
+            List.of(history(1, 30), history(2, 31), history(3, 180), history(4, 181)), TODAY);
+
+        assertThat(numbers(sets.get(TimeRange.LAST_30_DAYS))).containsExactly(1);
+        assertThat(numbers(sets.get(TimeRange.LAST_6_MONTHS))).containsExactly(1, 2, 3);
+        assertThat(numbers(sets.get(TimeRange.MORE_THAN_6_MONTHS))).containsExactly(4);
+    }
+
+    @Test
+    void eachRangeRanksByItsOwnAskCounts() {
+        // Problem 1 is asked most overall, problem 2 most in the last 30 days
+        List<ProblemAskHistory> history = List.of(
+            history(1, 5, 200, 210, 220, 230),
+            history(2, 1, 2, 3));
+
+        Map<TimeRange, List<LeetCodeProblem>> sets = ProblemSetDeriver.derive(history, TODAY);
+
+        assertThat(numbers(sets.get(TimeRange.LAST_30_DAYS))).containsExactly(2, 1);
+        assertThat(numbers(sets.get(TimeRange.ALL))).containsExactly(1, 2);
+    }
+
+    @Test
+    void frequencyIsRelativeToTheMostAskedProblemInRange() {
+        List<ProblemAskHistory> history = List.of(history(1, 1, 2, 3, 4), history(2, 1));
+
+        List<LeetCodeProblem> lastMonth = ProblemSetDeriver.derive(history, TODAY).get(TimeRange.LAST_30_DAYS);
+
+        assertThat(lastMonth.get(0).getFrequency()).isEqualTo(1.0);
+        assertThat(lastMonth.get(1).getFrequency()).isEqualTo(0.25);
+    }
+
+    @Test
+    void tiesAreOrderedByProblemNumber() {
+        List<LeetCodeProblem> all = ProblemSetDeriver.derive(
+            List.of(history(20, 1), history(3, 2), history(7, 3)), TODAY).get(TimeRange.ALL);
+
+        assertThat(numbers(all)).containsExactly(3, 7, 20);
+    }
+
+    @Test
+    void rangeWithoutAsksIsEmpty() {
+        Map<TimeRange, List<LeetCodeProblem>> sets = ProblemSetDeriver.derive(List.of(history(1, 400)), TODAY);
+
+        assertThat(sets.get(TimeRange.LAST_30_DAYS)).isEmpty();
+        assertThat(sets.get(TimeRange.LAST_6_MONTHS)).isEmpty();
+    }
+
+    @Test
+    void problemMetadataIsCopiedFromHistory() {
+        LeetCodeProblem problem = ProblemSetDeriver.derive(List.of(history(42, 1)), TODAY)
+            .get(TimeRange.ALL).get(0);
+
+        assertThat(problem.getProblemName()).isEqualTo("Problem 42");
+        assertThat(problem.getAcceptanceRate()).isEqualTo(0.5);
+        assertThat(problem.getDifficulty()).isEqualTo(ProblemDifficulty.EASY);
+        assertThat(problem.getUrl()).isEqualTo("https://leetcode.com/problems/problem-42/");
+    }
+}